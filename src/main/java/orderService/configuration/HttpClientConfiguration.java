@@ -0,0 +1,83 @@
+package orderService.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfiguration {
+
+    @Value("${http-client.pool.max-total}")
+    private int maxTotal;
+
+    @Value("${http-client.pool.max-per-route}")
+    private int maxPerRoute;
+
+    @Value("${http-client.connect-timeout}")
+    private Duration connectTimeout;
+
+    @Value("${http-client.connection-request-timeout}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${http-client.response-timeout}")
+    private Duration responseTimeout;
+
+    @Value("${http-client.keep-alive}")
+    private Duration keepAlive;
+
+    @Value("${http-client.idle-eviction}")
+    private Duration idleEviction;
+
+    @Bean
+    public PoolingHttpClientConnectionManager pooledConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient pooledHttpClient(PoolingHttpClientConnectionManager pooledConnectionManager) {
+        TimeValue maxKeepAlive = TimeValue.of(keepAlive);
+        return HttpClients.custom()
+                .setConnectionManager(pooledConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive.compareTo(maxKeepAlive) < 0 ? serverKeepAlive : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory pooledClientHttpRequestFactory(CloseableHttpClient pooledHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(pooledHttpClient);
+    }
+
+}
@@ -0,0 +1,17 @@
+package orderService.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class PaymentEventConsumerConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService paymentEventWorkerExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-event-worker-", 0).factory());
+    }
+
+}
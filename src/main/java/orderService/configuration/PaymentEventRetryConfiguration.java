@@ -0,0 +1,39 @@
+package orderService.configuration;
+
+import orderService.service.PaymentEventRetryMetrics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.RetryListener;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationSupport;
+
+@Configuration
+public class PaymentEventRetryConfiguration extends RetryTopicConfigurationSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentEventRetryConfiguration.class);
+    private final ObjectProvider<PaymentEventRetryMetrics> paymentEventRetryMetrics;
+
+    public PaymentEventRetryConfiguration(ObjectProvider<PaymentEventRetryMetrics> paymentEventRetryMetrics) {
+        this.paymentEventRetryMetrics = paymentEventRetryMetrics;
+    }
+
+    @Override
+    protected void configureCustomizers(CustomizersConfigurer customizersConfigurer) {
+        customizersConfigurer.customizeErrorHandler(errorHandler -> errorHandler.setRetryListeners(new RetryListener() {
+
+            @Override
+            public void failedDelivery(ConsumerRecord<?, ?> record, Exception ex, int deliveryAttempt) {
+                log.debug("Payment event delivery attempt {} failed on {}", deliveryAttempt, record.topic(), ex);
+            }
+
+            @Override
+            public void recovered(ConsumerRecord<?, ?> record, Exception ex) {
+                // stages run without in-stage retries, so this fires once per failed stage
+                paymentEventRetryMetrics.getObject().recordFailure(record.topic(), ex);
+            }
+        }));
+    }
+
+}
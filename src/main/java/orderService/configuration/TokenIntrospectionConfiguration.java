@@ -0,0 +1,23 @@
+package orderService.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class TokenIntrospectionConfiguration {
+
+    @Value("${jwt.remote-validation-url}")
+    private String remoteValidationUrl;
+
+    @Bean
+    public RestClient remoteValidationRestClient(ClientHttpRequestFactory pooledClientHttpRequestFactory) {
+        return RestClient.builder()
+                .baseUrl(remoteValidationUrl)
+                .requestFactory(pooledClientHttpRequestFactory)
+                .build();
+    }
+
+}
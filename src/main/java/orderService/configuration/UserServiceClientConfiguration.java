@@ -3,17 +3,32 @@ package orderService.configuration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class UserServiceClientConfiguration {
 
     @Value("${user-service.uri}")
     private String userServiceUri;
 
+    @Value("${user-service.lookup.parallelism:8}")
+    private int lookupParallelism;
+
     @Bean
-    public RestClient userServiceRestClient() {
-        return RestClient.create(userServiceUri);
+    public RestClient userServiceRestClient(ClientHttpRequestFactory pooledClientHttpRequestFactory) {
+        return RestClient.builder()
+                .baseUrl(userServiceUri)
+                .requestFactory(pooledClientHttpRequestFactory)
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService userServiceLookupExecutor() {
+        return Executors.newFixedThreadPool(lookupParallelism, Thread.ofPlatform().name("user-service-lookup-", 0).factory());
     }
 
 }
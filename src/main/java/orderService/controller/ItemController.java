@@ -1,7 +1,10 @@
 package orderService.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import orderService.dto.CursorPageDto;
 import orderService.dto.ItemCreateRequestDto;
 import orderService.dto.ItemDto;
 import orderService.dto.ItemUpdateDto;
@@ -38,6 +41,11 @@ public class ItemController {
         return ResponseEntity.ok(itemService.findAll(pageable));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<ItemDto>> findAllByCursor(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(itemService.findAllByCursor(cursor, size));
+    }
+
     @PutMapping("/{itemId}")
     public ResponseEntity<ItemDto> updateItemById(@PathVariable Long itemId, @NotNull @Valid @RequestBody ItemUpdateDto itemUpdateDto) {
         return ResponseEntity.ok(itemService.updateItemById(itemId, itemUpdateDto));
@@ -1,7 +1,14 @@
 package orderService.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import orderService.dto.CountMode;
+import orderService.dto.CursorPageDto;
+import orderService.dto.OrderBulkCreateResultDto;
 import orderService.dto.OrderCreateRequestDto;
 import orderService.dto.OrderDto;
 import orderService.dto.OrderUpdateRequestDto;
@@ -30,8 +37,14 @@ public class OrderController {
     }
 
     @PostMapping
-    public ResponseEntity<OrderDto> createNewOrder(@NotNull @Valid @RequestBody OrderCreateRequestDto orderCreateRequestDto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(orderCreateRequestDto));
+    public ResponseEntity<OrderDto> createNewOrder(@NotNull @Valid @RequestBody OrderCreateRequestDto orderCreateRequestDto,
+                                                   @RequestHeader(name = "Idempotency-Key", required = false) @Size(max = 255) String idempotencyKey) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(orderCreateRequestDto, idempotencyKey));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<OrderBulkCreateResultDto>> createNewOrders(@NotEmpty @Size(max = 1000) @Valid @RequestBody List<@Valid OrderCreateRequestDto> orderCreateRequestDtos) {
+        return ResponseEntity.ok(orderService.createOrders(orderCreateRequestDtos));
     }
 
     @PutMapping("/{orderId}")
@@ -39,14 +52,25 @@ public class OrderController {
         return ResponseEntity.ok(orderService.updateOrderById(orderId, orderUpdateRequestDto));
     }
 
+    @PatchMapping("/{orderId}")
+    public ResponseEntity<OrderDto> patchOrder(@PathVariable Long orderId, @NotNull @Valid @RequestBody OrderUpdateRequestDto orderUpdateRequestDto) {
+        return ResponseEntity.ok(orderService.patchOrderById(orderId, orderUpdateRequestDto));
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderDto> findOrderById(@PathVariable Long orderId) {
         return ResponseEntity.ok(orderService.findById(orderId));
     }
 
     @GetMapping()
-    public ResponseEntity<PageDto<OrderDto>> findAllWithAllData(@ModelAttribute @Valid OrderFilterRequest orderFilterRequest, @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return ResponseEntity.ok(orderService.findAllWithAllData(orderFilterRequest, pageable));
+    public ResponseEntity<PageDto<OrderDto>> findAllWithAllData(@ModelAttribute @Valid OrderFilterRequest orderFilterRequest, @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+                                                                @RequestParam(defaultValue = "EXACT") CountMode count) {
+        return ResponseEntity.ok(orderService.findAllWithAllData(orderFilterRequest, pageable, count));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<OrderDto>> findAllWithAllDataByCursor(@ModelAttribute @Valid OrderFilterRequest orderFilterRequest, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(orderService.findAllWithAllDataByCursor(orderFilterRequest, cursor, size));
     }
 
     @GetMapping("/user/{userId}")
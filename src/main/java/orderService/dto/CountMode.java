@@ -0,0 +1,7 @@
+package orderService.dto;
+
+public enum CountMode {
+    EXACT,
+    ESTIMATED,
+    NONE
+}
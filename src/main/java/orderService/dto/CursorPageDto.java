@@ -0,0 +1,19 @@
+package orderService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class CursorPageDto<T> {
+    private List<T> content;
+    private int pageSize;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,8 @@
+package orderService.dto;
+
+public record OrderBulkCreateResultDto(
+        int index,
+        OrderDto order,
+        String error
+) {
+}
@@ -15,6 +15,11 @@ public class PageDto<T> {
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean hasNext;
+
+    public PageDto(List<T> content, int pageNumber, int pageSize, long totalElements, int totalPages) {
+        this(content, pageNumber, pageSize, totalElements, totalPages, pageNumber + 1 < totalPages);
+    }
 }
@@ -0,0 +1,39 @@
+package orderService.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_keys")
+@IdClass(IdempotencyKeyId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    @Id
+    private Long userId;
+
+    private String requestHash;
+
+    private Long orderId;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+
+}
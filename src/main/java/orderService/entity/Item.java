@@ -24,7 +24,8 @@ import java.util.Objects;
 public class Item extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_id_seq")
+    @SequenceGenerator(name = "items_id_seq", sequenceName = "items_id_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -32,11 +33,7 @@ public class Item extends AuditableEntity {
     @Column(name = "price", precision = 12, scale = 2)
     private BigDecimal price;
 
-    @OneToMany(
-            mappedBy = "item",
-            cascade = CascadeType.ALL,
-            orphanRemoval = true
-    )
+    @OneToMany(mappedBy = "item")
     private List<OrderItem> orderItemList = new ArrayList<>();
 
     @Column(name = "deleted")
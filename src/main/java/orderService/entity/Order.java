@@ -25,7 +25,8 @@ import java.util.Objects;
 public class Order extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     private Long userId;
@@ -40,9 +41,13 @@ public class Order extends AuditableEntity {
     @Column(name = "deleted")
     private boolean deleted;
 
+    @Version
+    private Long version;
+
     @OneToMany(
             mappedBy = "order",
-            cascade = CascadeType.ALL
+            cascade = CascadeType.ALL,
+            orphanRemoval = true
     )
     private List<OrderItem> orderItemList = new ArrayList<>();
 
@@ -56,7 +61,6 @@ public class Order extends AuditableEntity {
             }
         }
         this.orderItemList.add(newOrderItem);
-        item.getOrderItemList().add(newOrderItem);
     }
 
     public void removeItem(Item item, Integer quantity) {
@@ -68,10 +72,6 @@ public class Order extends AuditableEntity {
                     break;
                 } else if (orderItem.getQuantity().equals(quantity)) {
                     orderItemList.remove(orderItem);
-                    orderItem.getItem().getOrderItemList().remove(orderItem);
-                    orderItem.setOrder(null);
-                    orderItem.setItem(null);
-                    orderItem.setQuantity(0);
                     break;
                 } else {
                     throw new RuntimeException("Can't delete more that in order");
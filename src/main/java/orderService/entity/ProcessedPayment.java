@@ -0,0 +1,34 @@
+package orderService.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "processed_payments")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProcessedPayment {
+
+    @Id
+    @Column(name = "payment_id")
+    private String paymentId;
+
+    private Long orderId;
+
+    private Instant processedAt;
+
+    public ProcessedPayment(String paymentId, Long orderId, Instant processedAt) {
+        this.paymentId = paymentId;
+        this.orderId = orderId;
+        this.processedAt = processedAt;
+    }
+
+}
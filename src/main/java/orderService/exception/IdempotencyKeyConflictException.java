@@ -0,0 +1,7 @@
+package orderService.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String idempotencyKey) {
+        super(String.format("Idempotency key %s was already used for a different request", idempotencyKey));
+    }
+}
@@ -1,7 +1,13 @@
 package orderService.exception;
 
+import java.util.Collection;
+
 public class ItemNotFoundException extends RuntimeException {
     public ItemNotFoundException(Long itemId) {
         super(String.format("Item with id %s not found", itemId));
     }
+
+    public ItemNotFoundException(Collection<Long> itemIds) {
+        super(String.format("Items with ids %s not found", itemIds));
+    }
 }
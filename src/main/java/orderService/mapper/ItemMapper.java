@@ -25,6 +25,7 @@ public interface ItemMapper {
 
     @Mapping(source = "number", target = "pageNumber")
     @Mapping(source = "size", target = "pageSize")
+    @Mapping(target = "hasNext", expression = "java(itemDtoPage.hasNext())")
     PageDto<ItemDto> toPageDto(Page<ItemDto> itemDtoPage);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
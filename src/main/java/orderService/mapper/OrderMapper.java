@@ -12,6 +12,7 @@ import java.util.List;
 @Mapper(componentModel = "spring", uses = {OrderItemMapper.class})
 public interface OrderMapper {
 
+    @Mapping(target = "version", ignore = true)
     Order toEntity(OrderDto orderDto);
 
     OrderDto toDto(Order order);
@@ -22,6 +23,7 @@ public interface OrderMapper {
 
     @Mapping(source = "number", target = "pageNumber")
     @Mapping(source = "size", target = "pageSize")
+    @Mapping(target = "hasNext", expression = "java(page.hasNext())")
     PageDto<OrderDto> toPageDto(Page<OrderDto> page);
 
 }
@@ -0,0 +1,24 @@
+package orderService.repository;
+
+import orderService.entity.IdempotencyKey;
+import orderService.entity.IdempotencyKeyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(:key, :userId))) AS advisory_lock", nativeQuery = true)
+    public Integer lockKey(@Param("userId") Long userId, @Param("key") String key);
+
+    public Optional<IdempotencyKey> findByUserIdAndKeyAndExpiresAtAfter(Long userId, String key, Instant now);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.expiresAt < :now")
+    public int deleteExpired(@Param("now") Instant now);
+
+}
@@ -2,6 +2,15 @@ package orderService.repository;
 
 import orderService.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item> {
+
+    @Modifying
+    @Query("update Item i set i.deleted = true where i.id = :itemId")
+    public int softDeleteById(@Param("itemId") Long itemId);
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
 }
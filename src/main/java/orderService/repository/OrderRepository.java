@@ -1,19 +1,54 @@
 package orderService.repository;
 
 import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderRepositoryCustom {
 
     public List<Order> findByUserId(Long userId);
 
+    @EntityGraph(attributePaths = {"orderItemList", "orderItemList.item"})
+    public List<Order> findAllByIdIn(Collection<Long> orderIds);
+
+    @Query("select o.userId from Order o where o.id = :orderId")
+    public Optional<Long> findUserIdById(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query("update Order o set o.orderStatus = :targetStatus, o.version = o.version + 1 where o.id = :orderId and o.orderStatus in :expectedStatuses")
+    public int transitionStatus(@Param("orderId") Long orderId, @Param("expectedStatuses") Collection<OrderStatus> expectedStatuses,
+                                @Param("targetStatus") OrderStatus targetStatus);
+
+    @Modifying
+    @Query("update Order o set o.orderStatus = :targetStatus, o.version = o.version + 1 where o.id in :orderIds and o.orderStatus in :expectedStatuses")
+    public int transitionStatusOfAll(@Param("orderIds") Collection<Long> orderIds, @Param("expectedStatuses") Collection<OrderStatus> expectedStatuses,
+                                     @Param("targetStatus") OrderStatus targetStatus);
+
+    @Modifying
+    @Query("update Order o set o.orderStatus = :targetStatus, o.version = o.version + 1 where o.id = :orderId and o.orderStatus in :expectedStatuses and o.totalPrice = :totalPrice")
+    public int transitionStatusIfTotalPriceEquals(@Param("orderId") Long orderId, @Param("expectedStatuses") Collection<OrderStatus> expectedStatuses,
+                                                  @Param("totalPrice") BigDecimal totalPrice, @Param("targetStatus") OrderStatus targetStatus);
+
+    // approximate live order count as of the last ANALYZE: reltuples minus the share pg_stats records as deleted
+    @Query(value = "SELECT CAST(c.reltuples * (1 - COALESCE((" +
+            "SELECT s.most_common_freqs[array_position(CAST(CAST(s.most_common_vals AS text) AS boolean[]), true)] " +
+            "FROM pg_stats s WHERE s.schemaname = current_schema() AND s.tablename = 'orders' AND s.attname = 'deleted'), 0)) AS BIGINT) " +
+            "FROM pg_class c WHERE c.oid = CAST('orders' AS regclass)", nativeQuery = true)
+    public Long estimateCount();
+
 }
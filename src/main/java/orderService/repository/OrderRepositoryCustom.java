@@ -0,0 +1,22 @@
+package orderService.repository;
+
+import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface OrderRepositoryCustom {
+
+    public List<Long> findIds(Specification<Order> specification, Pageable pageable);
+
+    public List<Long> findIds(Specification<Order> specification, Sort sort, long offset, int limit);
+
+    public int transitionStatusIfTotalPricesEqual(Map<Long, BigDecimal> totalPricesByOrderId, Collection<OrderStatus> expectedStatuses, OrderStatus targetStatus);
+
+}
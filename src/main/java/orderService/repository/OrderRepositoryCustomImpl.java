@@ -0,0 +1,83 @@
+package orderService.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Order> specification, Pageable pageable) {
+        if (pageable.isPaged()) {
+            return findIds(specification, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        }
+        return createIdQuery(specification, pageable.getSort()).getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Order> specification, Sort sort, long offset, int limit) {
+        TypedQuery<Long> typedQuery = createIdQuery(specification, sort);
+        typedQuery.setFirstResult(Math.toIntExact(offset));
+        typedQuery.setMaxResults(limit);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public int transitionStatusIfTotalPricesEqual(Map<Long, BigDecimal> totalPricesByOrderId, Collection<OrderStatus> expectedStatuses, OrderStatus targetStatus) {
+        if (totalPricesByOrderId.isEmpty()) {
+            return 0;
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Order> update = criteriaBuilder.createCriteriaUpdate(Order.class);
+        Root<Order> root = update.from(Order.class);
+        CriteriaBuilder.SimpleCase<Long, BigDecimal> expectedTotalPrice = criteriaBuilder.selectCase(root.get("id"));
+        totalPricesByOrderId.forEach(expectedTotalPrice::when);
+        update.set(root.<OrderStatus>get("orderStatus"), targetStatus);
+        update.set(root.<Long>get("version"), criteriaBuilder.sum(root.get("version"), 1L));
+        update.where(
+                root.get("id").in(totalPricesByOrderId.keySet()),
+                root.get("orderStatus").in(expectedStatuses),
+                criteriaBuilder.equal(root.get("totalPrice"), expectedTotalPrice));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private TypedQuery<Long> createIdQuery(Specification<Order> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Order> root = query.from(Order.class);
+        query.select(root.get("id"));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(withIdTieBreaker(sort), root, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    private Sort withIdTieBreaker(Sort sort) {
+        if (sort.getOrderFor("id") != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.stream().reduce((first, second) -> second).map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, "id"));
+    }
+}
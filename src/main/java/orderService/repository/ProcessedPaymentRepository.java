@@ -0,0 +1,28 @@
+package orderService.repository;
+
+import orderService.entity.ProcessedPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ProcessedPaymentRepository extends JpaRepository<ProcessedPayment, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO processed_payments(payment_id, order_id, processed_at) VALUES (:paymentId, :orderId, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    public int insertIfAbsent(@Param("paymentId") String paymentId, @Param("orderId") Long orderId);
+
+    @Query(value = "INSERT INTO processed_payments(payment_id, order_id, processed_at) " +
+            "SELECT claimed.payment_id, claimed.order_id, CURRENT_TIMESTAMP " +
+            "FROM unnest(cast(:paymentIds as text[]), cast(:orderIds as bigint[])) AS claimed(payment_id, order_id) " +
+            "ON CONFLICT DO NOTHING RETURNING payment_id", nativeQuery = true)
+    public List<String> insertAllIfAbsent(@Param("paymentIds") String[] paymentIds, @Param("orderIds") Long[] orderIds);
+
+    @Modifying
+    @Query("delete from ProcessedPayment p where p.processedAt < :processedBefore")
+    public int deleteProcessedBefore(@Param("processedBefore") Instant processedBefore);
+
+}
@@ -1,44 +1,73 @@
 package orderService.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jws;
+import orderService.exception.TokenValidationException;
+import orderService.util.Digests;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+
 @Component
 public class CustomJwtDecoder implements JwtDecoder {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomJwtDecoder.class);
     private final CustomJwtValidator jwtValidator;
+    private final RemoteTokenIntrospector remoteTokenIntrospector;
+    private final Cache<String, Jwt> verifiedTokens;
 
-    public CustomJwtDecoder(CustomJwtValidator jwtValidator) {
+    public CustomJwtDecoder(CustomJwtValidator jwtValidator,
+                            RemoteTokenIntrospector remoteTokenIntrospector,
+                            @Value("${custom.jwt.verified-token-cache.maximum-size}") long maximumSize) {
         this.jwtValidator = jwtValidator;
+        this.remoteTokenIntrospector = remoteTokenIntrospector;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, Jwt>creating((digest, jwt) -> timeToExpiry(jwt)))
+                .build();
     }
 
     @Override
     public Jwt decode(String token) throws JwtException {
-        if (!jwtValidator.validateToken(token)) {
-            throw new RuntimeException("Jwt token is not valid");
+        Jwt jwt = verifyLocally(token);
+        if (remoteTokenIntrospector.isEnabled() && !remoteTokenIntrospector.isActive(token, jwt.getExpiresAt())) {
+            throw new TokenValidationException("JWT token is revoked");
         }
-        Claims claims = getClaims(token);
-        Header header = getHeader(token);
-        return new Jwt(token, claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant(), header, claims);
+        return jwt;
     }
 
-    private Claims getClaims(String token) {
-        return jwtValidator.getJwtParser()
-                .parseSignedClaims(token)
-                .getPayload();
+    private Jwt verifyLocally(String token) {
+        String digest = Digests.sha256(token);
+        Jwt verifiedJwt = verifiedTokens.getIfPresent(digest);
+        if (verifiedJwt != null && verifiedJwt.getTokenValue().equals(token) && verifiedJwt.getExpiresAt().isAfter(Instant.now())) {
+            return verifiedJwt;
+        }
+        Jws<Claims> signedClaims = jwtValidator.parseSignedClaims(token);
+        Claims claims = signedClaims.getPayload();
+        Jwt jwt = new Jwt(token,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                signedClaims.getHeader(),
+                claims);
+        if (jwt.getExpiresAt() != null) {
+            verifiedTokens.put(digest, jwt);
+        }
+        return jwt;
     }
 
-    private Header getHeader(String token) {
-        return jwtValidator.getJwtParser()
-                .parseSignedClaims(token)
-                .getHeader();
+    private static Duration timeToExpiry(Jwt jwt) {
+        Duration timeToExpiry = Duration.between(Instant.now(), jwt.getExpiresAt());
+        return timeToExpiry.isNegative() ? Duration.ZERO : timeToExpiry;
     }
 
 }
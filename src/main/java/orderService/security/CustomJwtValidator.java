@@ -3,17 +3,13 @@ package orderService.security;
 
 import io.jsonwebtoken.*;
 import lombok.Getter;
-import orderService.dto.TokenValidationResponse;
 import orderService.exception.TokenValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
 
-import java.security.NoSuchAlgorithmException;
-import java.security.spec.InvalidKeySpecException;
-import java.util.Map;
+import java.security.Key;
+import java.security.interfaces.RSAPublicKey;
 
 @Component
 public class CustomJwtValidator {
@@ -23,25 +19,31 @@ public class CustomJwtValidator {
     @Getter
     private final JwtParser jwtParser;
 
-    @Value("${jwt.remote-validation-url}")
-    private String remoteValidationUrl;
-
     public CustomJwtValidator(CustomKeyProvider customKeyProvider) {
         this.customKeyProvider = customKeyProvider;
-        try {
-            this.jwtParser = Jwts
-                    .parser()
-                    .verifyWith(customKeyProvider.getPublicKey())
-                    .build();
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new TokenValidationException(e.getMessage());
-        }
+        this.jwtParser = Jwts
+                .parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        RSAPublicKey publicKey = customKeyProvider.getPublicKey(header.getKeyId());
+                        if (publicKey == null) {
+                            throw new UnsupportedJwtException("No public key found for key id " + header.getKeyId());
+                        }
+                        return publicKey;
+                    }
+                })
+                .build();
     }
 
     public boolean validateToken(String token) {
+        parseSignedClaims(token);
+        return true;
+    }
+
+    public Jws<Claims> parseSignedClaims(String token) {
         try {
-            jwtParser.parseSignedClaims(token);
-            return true;
+            return jwtParser.parseSignedClaims(token);
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
             throw new TokenValidationException("Invalid JWT signature");
@@ -62,14 +64,4 @@ public class CustomJwtValidator {
             throw new TokenValidationException("JWT validation error");
         }
     }
-
-    public boolean validateRemotely(String token) {
-        RestClient restClient = RestClient.create(remoteValidationUrl);
-        TokenValidationResponse tokenValidationResponse = restClient
-                .post()
-                .body(Map.of("token", token))
-                .retrieve()
-                .body(TokenValidationResponse.class);
-        return tokenValidationResponse != null && tokenValidationResponse.valid();
-    }
 }
@@ -1,21 +1,101 @@
 package orderService.security;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
 import java.security.interfaces.RSAPublicKey;
-import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAPublicKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Component
 public class CustomKeyProvider {
-    @Value("${custom.jwt.rsa256.public-key}")
-    private String publicKey;
 
-    private RSAPublicKey parsePublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    private static final Logger logger = LoggerFactory.getLogger(CustomKeyProvider.class);
+    public static final String DEFAULT_KEY_ID = "default";
+    private final String publicKey;
+    private final String keySetLocation;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Map<String, RSAPublicKey>> publicKeys = new AtomicReference<>(Map.of());
+
+    public CustomKeyProvider(@Value("${custom.jwt.rsa256.public-key:}") String publicKey,
+                             @Value("${custom.jwt.key-set.location:}") String keySetLocation,
+                             ResourceLoader resourceLoader,
+                             ObjectMapper objectMapper) {
+        this.publicKey = publicKey;
+        this.keySetLocation = keySetLocation;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        reload();
+        if (publicKeys.get().isEmpty()) {
+            throw new IllegalStateException("No public key configured for JWT validation");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${custom.jwt.key-set.refresh-interval}", initialDelayString = "${custom.jwt.key-set.refresh-interval}")
+    public void reload() {
+        Map<String, RSAPublicKey> loadedKeys = new LinkedHashMap<>();
+        try {
+            if (publicKey != null && !publicKey.isBlank()) {
+                loadedKeys.put(DEFAULT_KEY_ID, parsePublicKey(publicKey));
+            }
+            if (keySetLocation != null && !keySetLocation.isBlank()) {
+                loadedKeys.putAll(loadKeySet(resourceLoader.getResource(keySetLocation)));
+            }
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            logger.error("Failed to reload JWT public keys, keeping {} previously loaded keys: {}", publicKeys.get().size(), e.getMessage());
+            return;
+        }
+        publicKeys.set(Map.copyOf(loadedKeys));
+        logger.debug("Loaded JWT public keys {}", loadedKeys.keySet());
+    }
+
+    public RSAPublicKey getPublicKey(String keyId) {
+        Map<String, RSAPublicKey> keys = publicKeys.get();
+        if (keyId != null) {
+            return keys.get(keyId);
+        }
+        RSAPublicKey key = keys.get(DEFAULT_KEY_ID);
+        if (key == null && keys.size() == 1) {
+            key = keys.values().iterator().next();
+        }
+        return key;
+    }
+
+    private Map<String, RSAPublicKey> loadKeySet(Resource keySet) throws IOException, GeneralSecurityException {
+        Map<String, RSAPublicKey> keys = new LinkedHashMap<>();
+        try (InputStream inputStream = keySet.getInputStream()) {
+            JsonNode root = objectMapper.readTree(inputStream);
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (JsonNode jwk : root.path("keys")) {
+                if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+                keys.put(jwk.get("kid").asText(), (RSAPublicKey) keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+        }
+        return keys;
+    }
+
+    private RSAPublicKey parsePublicKey(String publicKey) throws GeneralSecurityException {
         String publicKeyPEM = publicKey.replace("-----BEGIN PUBLIC KEY-----", "")
                 .replace("-----END PUBLIC KEY-----", "")
                 .replaceAll("\\s", "");
@@ -26,9 +106,4 @@ public class CustomKeyProvider {
         return (RSAPublicKey) keyFactory.generatePublic(keySpec);
     }
 
-    public RSAPublicKey getPublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
-        return parsePublicKey();
-    }
-
-
 }
@@ -0,0 +1,176 @@
+package orderService.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import orderService.dto.TokenValidationResponse;
+import orderService.exception.ServiceUnavailableException;
+import orderService.util.Digests;
+import orderService.util.RequestCoalescer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RemoteTokenIntrospector {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteTokenIntrospector.class);
+    private final boolean enabled;
+    private final boolean batchEnabled;
+    private final String batchUri;
+    private final int batchMaxSize;
+    private final Duration batchMaxWait;
+    private final Duration maxTtl;
+    private final RestClient remoteValidationRestClient;
+    private final Cache<String, Entry> introspectionResults;
+    private final RequestCoalescer<String, Boolean> introspectionCoalescer = new RequestCoalescer<>();
+    private final BlockingQueue<PendingIntrospection> pendingIntrospections = new LinkedBlockingQueue<>();
+    private final Thread batchDispatcher;
+
+    public RemoteTokenIntrospector(@Qualifier("remoteValidationRestClient") RestClient remoteValidationRestClient,
+                                   @Value("${jwt.remote-validation.enabled}") boolean enabled,
+                                   @Value("${jwt.remote-validation.cache.maximum-size}") long cacheMaximumSize,
+                                   @Value("${jwt.remote-validation.cache.max-ttl}") Duration maxTtl,
+                                   @Value("${jwt.remote-validation.batch.enabled}") boolean batchEnabled,
+                                   @Value("${jwt.remote-validation.batch.uri}") String batchUri,
+                                   @Value("${jwt.remote-validation.batch.max-size}") int batchMaxSize,
+                                   @Value("${jwt.remote-validation.batch.max-wait}") Duration batchMaxWait) {
+        this.enabled = enabled;
+        this.batchEnabled = batchEnabled;
+        this.batchUri = batchUri;
+        this.batchMaxSize = batchMaxSize;
+        this.batchMaxWait = batchMaxWait;
+        this.maxTtl = maxTtl;
+        this.remoteValidationRestClient = remoteValidationRestClient;
+        this.introspectionResults = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(Expiry.<String, Entry>creating((digest, entry) -> entry.timeToLive()))
+                .build();
+        this.batchDispatcher = enabled && batchEnabled
+                ? Thread.ofPlatform().daemon().name("token-introspection-batcher").start(this::dispatchBatches)
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isActive(String token, Instant expiresAt) {
+        String digest = Digests.sha256(token);
+        Entry cached = introspectionResults.getIfPresent(digest);
+        if (cached != null) {
+            return cached.active();
+        }
+        return introspectionCoalescer.execute(digest, () -> {
+            boolean active = batchEnabled ? introspectInBatch(token) : introspect(token);
+            introspectionResults.put(digest, new Entry(active, timeToLive(expiresAt)));
+            return active;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batchDispatcher != null) {
+            batchDispatcher.interrupt();
+        }
+    }
+
+    private boolean introspect(String token) {
+        TokenValidationResponse tokenValidationResponse = remoteValidationRestClient
+                .post()
+                .body(Map.of("token", token))
+                .retrieve()
+                .body(TokenValidationResponse.class);
+        return tokenValidationResponse != null && tokenValidationResponse.valid();
+    }
+
+    private boolean introspectInBatch(String token) {
+        PendingIntrospection pendingIntrospection = new PendingIntrospection(token, new CompletableFuture<>());
+        pendingIntrospections.add(pendingIntrospection);
+        try {
+            return pendingIntrospection.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void dispatchBatches() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<PendingIntrospection> batch = new ArrayList<>(batchMaxSize);
+            try {
+                batch.add(pendingIntrospections.take());
+                long deadline = System.nanoTime() + batchMaxWait.toNanos();
+                while (batch.size() < batchMaxSize) {
+                    PendingIntrospection next = pendingIntrospections.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().completeExceptionally(new ServiceUnavailableException("Token introspection is shutting down")));
+                return;
+            }
+            introspectBatch(batch);
+        }
+    }
+
+    private void introspectBatch(List<PendingIntrospection> batch) {
+        try {
+            List<TokenValidationResponse> responses = remoteValidationRestClient
+                    .post()
+                    .uri(batchUri)
+                    .body(Map.of("tokens", batch.stream().map(PendingIntrospection::token).toList()))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<TokenValidationResponse>>() {
+                    });
+            if (responses == null || responses.size() != batch.size()) {
+                throw new ServiceUnavailableException("Token introspection returned an unexpected number of results");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                TokenValidationResponse response = responses.get(i);
+                batch.get(i).result().complete(response != null && response.valid());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Batch token introspection of {} tokens failed: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private Duration timeToLive(Instant expiresAt) {
+        if (expiresAt == null) {
+            return maxTtl;
+        }
+        Duration timeToExpiry = Duration.between(Instant.now(), expiresAt);
+        if (timeToExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return timeToExpiry.compareTo(maxTtl) < 0 ? timeToExpiry : maxTtl;
+    }
+
+    private record Entry(boolean active, Duration timeToLive) {
+    }
+
+    private record PendingIntrospection(String token, CompletableFuture<Boolean> result) {
+    }
+}
@@ -1,5 +1,6 @@
 package orderService.service;
 
+import orderService.dto.CursorPageDto;
 import orderService.dto.ItemCreateRequestDto;
 import orderService.dto.ItemDto;
 import orderService.dto.ItemUpdateDto;
@@ -18,4 +19,6 @@ public interface ItemService {
 
     public PageDto<ItemDto> findAll(Pageable pageable);
 
+    public CursorPageDto<ItemDto> findAllByCursor(String cursor, int size);
+
 }
@@ -0,0 +1,38 @@
+package orderService.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import orderService.repository.OrderRepository;
+import orderService.specification.OrderFilterRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class OrderCountEstimator {
+
+    private final OrderRepository orderRepository;
+    private final Cache<OrderFilterRequest, Long> filteredCounts;
+
+    public OrderCountEstimator(OrderRepository orderRepository,
+                               @Value("${orders.count-cache.maximum-size}") long maximumSize,
+                               @Value("${orders.count-cache.ttl}") Duration ttl) {
+        this.orderRepository = orderRepository;
+        this.filteredCounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public long estimateCount(OrderFilterRequest orderFilterRequest) {
+        if (orderFilterRequest.isEmpty()) {
+            Long plannerEstimate = orderRepository.estimateCount();
+            if (plannerEstimate != null && plannerEstimate >= 0) {
+                return plannerEstimate;
+            }
+        }
+        return filteredCounts.get(orderFilterRequest.toBuilder().build(), filter -> orderRepository.count(filter.toSpecification()));
+    }
+
+}
@@ -0,0 +1,103 @@
+package orderService.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import orderService.dto.OrderCreateRequestDto;
+import orderService.entity.IdempotencyKey;
+import orderService.entity.IdempotencyKeyId;
+import orderService.exception.IdempotencyKeyConflictException;
+import orderService.repository.IdempotencyKeyRepository;
+import orderService.util.Digests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+public class OrderIdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+    private final Cache<IdempotencyKeyId, IdempotencyKey> completedRequests;
+    private final ObjectWriter canonicalWriter = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build()
+            .writer();
+
+    public OrderIdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                                 @Value("${orders.idempotency.cache.maximum-size}") long maximumSize,
+                                 @Value("${orders.idempotency.ttl}") Duration ttl) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+        this.completedRequests = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Long> findCompletedOrderId(String idempotencyKey, OrderCreateRequestDto orderCreateRequestDto) {
+        Long userId = orderCreateRequestDto.getUserId();
+        IdempotencyKeyId id = new IdempotencyKeyId(idempotencyKey, userId);
+        IdempotencyKey completed = completedRequests.getIfPresent(id);
+        if (completed == null) {
+            idempotencyKeyRepository.lockKey(userId, idempotencyKey);
+            completed = idempotencyKeyRepository.findByUserIdAndKeyAndExpiresAtAfter(userId, idempotencyKey, Instant.now()).orElse(null);
+            if (completed == null) {
+                return Optional.empty();
+            }
+            completedRequests.put(id, completed);
+        }
+        if (!completed.getRequestHash().equals(hash(orderCreateRequestDto))) {
+            throw new IdempotencyKeyConflictException(idempotencyKey);
+        }
+        return Optional.of(completed.getOrderId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(String idempotencyKey, OrderCreateRequestDto orderCreateRequestDto, Long orderId) {
+        Instant now = Instant.now();
+        IdempotencyKey completed = idempotencyKeyRepository.save(
+                new IdempotencyKey(idempotencyKey, orderCreateRequestDto.getUserId(), hash(orderCreateRequestDto), orderId, now, now.plus(ttl)));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                completedRequests.put(new IdempotencyKeyId(idempotencyKey, completed.getUserId()), completed);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval}", initialDelayString = "${orders.idempotency.purge-interval}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private String hash(OrderCreateRequestDto orderCreateRequestDto) {
+        try {
+            return Digests.sha256(canonicalWriter.writeValueAsBytes(orderCreateRequestDto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order request for idempotency check", e);
+        }
+    }
+
+}
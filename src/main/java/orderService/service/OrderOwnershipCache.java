@@ -0,0 +1,32 @@
+package orderService.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import orderService.exception.OrderNotFoundException;
+import orderService.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderOwnershipCache {
+
+    private final OrderRepository orderRepository;
+    private final Cache<Long, Long> orderOwners;
+
+    public OrderOwnershipCache(OrderRepository orderRepository,
+                               @Value("${orders.ownership-cache.maximum-size}") long maximumSize) {
+        this.orderRepository = orderRepository;
+        this.orderOwners = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public Long findOwnerId(Long orderId) {
+        return orderOwners.get(orderId, id -> orderRepository.findUserIdById(id).orElseThrow(() -> new OrderNotFoundException(id)));
+    }
+
+    public void evict(Long orderId) {
+        orderOwners.invalidate(orderId);
+    }
+
+}
@@ -1,5 +1,8 @@
 package orderService.service;
 
+import orderService.dto.CountMode;
+import orderService.dto.CursorPageDto;
+import orderService.dto.OrderBulkCreateResultDto;
 import orderService.dto.OrderCreateRequestDto;
 import orderService.dto.OrderDto;
 import orderService.dto.OrderUpdateRequestDto;
@@ -19,10 +22,20 @@ public interface OrderService {
 
     public OrderDto createOrder(OrderCreateRequestDto orderCreateRequestDto);
 
+    public OrderDto createOrder(OrderCreateRequestDto orderCreateRequestDto, String idempotencyKey);
+
+    public List<OrderBulkCreateResultDto> createOrders(List<OrderCreateRequestDto> orderCreateRequestDtos);
+
     public PageDto<OrderDto> findAll(OrderFilterRequest orderFilterRequest, Pageable pageable);
 
     public PageDto<OrderDto> findAllWithAllData(OrderFilterRequest orderFilterRequest, Pageable pageable);
 
+    public PageDto<OrderDto> findAllWithAllData(OrderFilterRequest orderFilterRequest, Pageable pageable, CountMode countMode);
+
+    public CursorPageDto<OrderDto> findAllWithAllDataByCursor(OrderFilterRequest orderFilterRequest, String cursor, int size);
+
     public OrderDto updateOrderById(Long orderId, OrderUpdateRequestDto orderDto);
 
+    public OrderDto patchOrderById(Long orderId, OrderUpdateRequestDto orderDto);
+
 }
@@ -0,0 +1,130 @@
+package orderService.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class PaymentConsumerBackpressure {
+
+    public static final String PAUSED_METRIC = "payment.events.consumer.paused";
+    public static final String PAUSED_DURATION_METRIC = "payment.events.consumer.paused.duration";
+    private static final String HIKARI_ACQUIRE_METRIC = "hikaricp.connections.acquire";
+    private static final Logger logger = LoggerFactory.getLogger(PaymentConsumerBackpressure.class);
+    private final HikariDataSource dataSource;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Timer pausedDuration;
+    private final boolean enabled;
+    private final double pauseActiveRatio;
+    private final Duration pauseAcquireTime;
+    private final double resumeActiveRatio;
+    private final Duration resumeAcquireTime;
+    private final List<MessageListenerContainer> pausedContainers = new ArrayList<>();
+    private long pausedAtNanos;
+    private long lastAcquireCount;
+    private double lastAcquireTotalNanos;
+
+    public PaymentConsumerBackpressure(HikariDataSource dataSource, KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry, MeterRegistry meterRegistry,
+                                       @Value("${payment-events.backpressure.enabled}") boolean enabled,
+                                       @Value("${payment-events.backpressure.pause.active-ratio}") double pauseActiveRatio,
+                                       @Value("${payment-events.backpressure.pause.acquire-time}") Duration pauseAcquireTime,
+                                       @Value("${payment-events.backpressure.resume.active-ratio}") double resumeActiveRatio,
+                                       @Value("${payment-events.backpressure.resume.acquire-time}") Duration resumeAcquireTime) {
+        this.dataSource = dataSource;
+        this.kafkaListenerEndpointRegistry = kafkaListenerEndpointRegistry;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pauseActiveRatio = pauseActiveRatio;
+        this.pauseAcquireTime = pauseAcquireTime;
+        this.resumeActiveRatio = resumeActiveRatio;
+        this.resumeAcquireTime = resumeAcquireTime;
+        this.pausedDuration = Timer.builder(PAUSED_DURATION_METRIC).register(meterRegistry);
+        Gauge.builder(PAUSED_METRIC, this, backpressure -> backpressure.isPaused() ? 1 : 0).register(meterRegistry);
+        Gauge.builder(PAUSED_METRIC + ".current", this, PaymentConsumerBackpressure::currentPauseSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payment-events.backpressure.check-interval}")
+    public synchronized void check() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (!enabled || pool == null) {
+            return;
+        }
+        double activeRatio = (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+        Duration acquireTime = meanAcquireTimeSinceLastCheck();
+        if (!isPaused() && (activeRatio >= pauseActiveRatio || acquireTime.compareTo(pauseAcquireTime) >= 0)) {
+            pause(activeRatio, acquireTime, pool.getThreadsAwaitingConnection());
+        } else if (isPaused() && activeRatio <= resumeActiveRatio && acquireTime.compareTo(resumeAcquireTime) <= 0) {
+            resume(activeRatio, acquireTime);
+        }
+    }
+
+    public synchronized boolean isPaused() {
+        return !pausedContainers.isEmpty();
+    }
+
+    private void pause(double activeRatio, Duration acquireTime, int threadsAwaitingConnection) {
+        for (MessageListenerContainer container : kafkaListenerEndpointRegistry.getAllListenerContainers()) {
+            if (isPaymentListener(container) && container.isRunning() && !container.isPauseRequested()) {
+                container.pause();
+                pausedContainers.add(container);
+            }
+        }
+        if (isPaused()) {
+            pausedAtNanos = System.nanoTime();
+            logger.warn("Connection pool saturated (active ratio {}, mean acquire time {} ms, {} threads waiting), paused {} payment listener containers",
+                    String.format("%.2f", activeRatio), acquireTime.toMillis(), threadsAwaitingConnection, pausedContainers.size());
+        }
+    }
+
+    private void resume(double activeRatio, Duration acquireTime) {
+        pausedContainers.forEach(MessageListenerContainer::resume);
+        long pausedNanos = System.nanoTime() - pausedAtNanos;
+        pausedDuration.record(pausedNanos, TimeUnit.NANOSECONDS);
+        logger.info("Connection pool recovered (active ratio {}, mean acquire time {} ms), resumed {} payment listener containers after {} ms",
+                String.format("%.2f", activeRatio), acquireTime.toMillis(), pausedContainers.size(), TimeUnit.NANOSECONDS.toMillis(pausedNanos));
+        pausedContainers.clear();
+    }
+
+    // the retry-topic containers get the main listener id with a stage suffix
+    private boolean isPaymentListener(MessageListenerContainer container) {
+        String listenerId = container.getListenerId();
+        return listenerId != null && listenerId.startsWith(PaymentEventConsumerService.LISTENER_ID);
+    }
+
+    private Duration meanAcquireTimeSinceLastCheck() {
+        String poolName = dataSource.getPoolName();
+        Timer acquire = poolName == null ? null : meterRegistry.find(HIKARI_ACQUIRE_METRIC).tag("pool", poolName).timer();
+        if (acquire == null) {
+            return Duration.ZERO;
+        }
+        long count = acquire.count();
+        double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        long acquisitions = count - lastAcquireCount;
+        double acquireNanos = totalNanos - lastAcquireTotalNanos;
+        lastAcquireCount = count;
+        lastAcquireTotalNanos = totalNanos;
+        return acquisitions <= 0 ? Duration.ZERO : Duration.ofNanos((long) (acquireNanos / acquisitions));
+    }
+
+    private synchronized double currentPauseSeconds() {
+        return isPaused() ? (System.nanoTime() - pausedAtNanos) / 1e9 : 0;
+    }
+
+}
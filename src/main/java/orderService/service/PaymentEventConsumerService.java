@@ -5,49 +5,254 @@ import orderService.entity.Order;
 import orderService.entity.enums.OrderStatus;
 import orderService.exception.OrderNotFoundException;
 import orderService.repository.OrderRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
 
 @Service
 public class PaymentEventConsumerService {
 
+    public static final String LISTENER_ID = "payment-events";
+    private static final Set<OrderStatus> PAYABLE_STATUSES = EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
     private final Logger log = LoggerFactory.getLogger(PaymentEventConsumerService.class);
     private final OrderRepository orderRepository;
+    private final ProcessedPaymentStore processedPaymentStore;
+    private final PaymentEventRetryMetrics paymentEventRetryMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService paymentEventWorkerExecutor;
+    private final Semaphore workerPermits;
 
-    public PaymentEventConsumerService(OrderRepository orderRepository) {
+    public PaymentEventConsumerService(OrderRepository orderRepository, ProcessedPaymentStore processedPaymentStore,
+                                       PaymentEventRetryMetrics paymentEventRetryMetrics, TransactionTemplate transactionTemplate,
+                                       @Qualifier("paymentEventWorkerExecutor") ExecutorService paymentEventWorkerExecutor,
+                                       @Value("${payment-events.key-ordered.max-concurrency}") int maxConcurrency) {
         this.orderRepository = orderRepository;
+        this.processedPaymentStore = processedPaymentStore;
+        this.paymentEventRetryMetrics = paymentEventRetryMetrics;
+        this.transactionTemplate = transactionTemplate;
+        this.paymentEventWorkerExecutor = paymentEventWorkerExecutor;
+        this.workerPermits = new Semaphore(maxConcurrency);
     }
 
+    @RetryableTopic(
+            attempts = "${payment-events.retry.attempts}",
+            backoff = @Backoff(
+                    delayExpression = "${payment-events.retry.initial-delay-ms}",
+                    multiplierExpression = "${payment-events.retry.multiplier}",
+                    maxDelayExpression = "${payment-events.retry.max-delay-ms}"
+            ),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltStrategy = DltStrategy.FAIL_ON_ERROR,
+            autoCreateTopics = "${payment-events.retry.auto-create-topics}",
+            numPartitions = "${payment-events.retry.topic-partitions}"
+    )
     @KafkaListener(
+            id = LISTENER_ID,
             topics = "CREATE_PAYMENT_EVENT",
-            groupId = "order-service-group"
+            groupId = "order-service-group",
+            autoStartup = "#{'${payment-events.listener.mode}' == 'single'}"
     )
     @Transactional
     public void handlePaymentEvent(@Payload PaymentEvent paymentEvent, Acknowledgment acknowledgment){
-        System.out.println("RECEIVED EVENT");
-        Order orderToEdit = orderRepository.findById(paymentEvent.getOrderId()).orElseThrow(()->new OrderNotFoundException(paymentEvent.getOrderId()));
+        processPaymentEvent(paymentEvent);
+        acknowledgment.acknowledge();
+    }
+
+    @DltHandler
+    public void handleDeadLetterPaymentEvent(@Payload PaymentEvent paymentEvent,
+                                             @Header(name = KafkaHeaders.ORIGINAL_TOPIC, required = false) String originalTopic,
+                                             @Header(name = KafkaHeaders.EXCEPTION_FQCN, required = false) String exceptionClassName,
+                                             @Header(name = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String exceptionMessage,
+                                             Acknowledgment acknowledgment) {
+        log.error("Payment {} for order with id {} moved to dead letter topic after retries: {}: {}",
+                paymentEvent.getPaymentId(), paymentEvent.getOrderId(), exceptionClassName, exceptionMessage);
+        paymentEventRetryMetrics.recordDeadLetter(originalTopic, exceptionClassName);
+        acknowledgment.acknowledge();
+    }
+
+    private void processPaymentEvent(PaymentEvent paymentEvent) {
+        if (processedPaymentStore.isRecentlyProcessed(paymentEvent.getPaymentId())
+                || !processedPaymentStore.claim(paymentEvent.getPaymentId(), paymentEvent.getOrderId())) {
+            log.info("Payment {} was already processed, skipping", paymentEvent.getPaymentId());
+            return;
+        }
+        Long orderId = paymentEvent.getOrderId();
         switch (paymentEvent.getStatus()){
             case FAILED -> {
-                log.info("Payment for order with id {} failed", orderToEdit.getId());
-                orderToEdit.setOrderStatus(OrderStatus.CANCELED);
-                break;
+                if (orderRepository.transitionStatus(orderId, PAYABLE_STATUSES, OrderStatus.CANCELED) > 0) {
+                    log.info("Payment for order with id {} failed", orderId);
+                } else {
+                    logSkippedTransition(paymentEvent);
+                }
             }
             case SUCCESS -> {
-                if((paymentEvent.getPaymentAmount().compareTo(orderToEdit.getTotalPrice()) == 0)){
-                    log.info("Payment for order with id {} succeed", orderToEdit.getId());
-                    orderToEdit.setOrderStatus(OrderStatus.PAYED);
-                    break;
+                if (orderRepository.transitionStatusIfTotalPriceEquals(orderId, PAYABLE_STATUSES, paymentEvent.getPaymentAmount(), OrderStatus.PAYED) > 0) {
+                    log.info("Payment for order with id {} succeed", orderId);
+                } else {
+                    logSkippedTransition(paymentEvent);
+                }
+            }
+        }
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID + "-batch",
+            topics = "CREATE_PAYMENT_EVENT",
+            groupId = "order-service-group",
+            batch = "true",
+            autoStartup = "#{'${payment-events.listener.mode}' == 'batch'}"
+    )
+    public void handlePaymentEvents(@Payload List<PaymentEvent> paymentEvents, Acknowledgment acknowledgment) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> processPaymentEvents(paymentEvents));
+        } catch (BatchListenerFailedException e) {
+            // the error handler commits offsets below the failed index, so the events before it must be committed too
+            if (e.getIndex() > 0) {
+                transactionTemplate.executeWithoutResult(status -> processPaymentEvents(paymentEvents.subList(0, e.getIndex())));
+            }
+            throw e;
+        }
+        acknowledgment.acknowledge();
+    }
+
+    private void processPaymentEvents(List<PaymentEvent> paymentEvents) {
+        Set<String> unprocessedPaymentIds = processedPaymentStore.claimUnprocessed(paymentEvents);
+        if (unprocessedPaymentIds.isEmpty()) {
+            log.info("All {} payment events were already processed, skipping", paymentEvents.size());
+            return;
+        }
+        Set<Long> orderIds = paymentEvents.stream()
+                .filter(paymentEvent -> unprocessedPaymentIds.contains(paymentEvent.getPaymentId()))
+                .map(PaymentEvent::getOrderId)
+                .collect(Collectors.toSet());
+        Map<Long, Order> ordersById = orderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, order -> order));
+
+        Map<Long, OrderStatus> statusesByOrderId = new HashMap<>();
+        Map<Long, BigDecimal> paidTotalPricesByOrderId = new HashMap<>();
+        Set<Long> canceledOrderIds = new HashSet<>();
+        for (int index = 0; index < paymentEvents.size(); index++) {
+            PaymentEvent paymentEvent = paymentEvents.get(index);
+            if (!unprocessedPaymentIds.remove(paymentEvent.getPaymentId())) {
+                continue;
+            }
+            Order order = ordersById.get(paymentEvent.getOrderId());
+            if (order == null) {
+                throw new BatchListenerFailedException("Order with id " + paymentEvent.getOrderId() + " not found", index);
+            }
+            OrderStatus status = statusesByOrderId.getOrDefault(order.getId(), order.getOrderStatus());
+            if (!PAYABLE_STATUSES.contains(status)) {
+                log.info("Payment {} for order with id {} ignored, order is {}", paymentEvent.getStatus(), order.getId(), status);
+                continue;
+            }
+            switch (paymentEvent.getStatus()) {
+                case FAILED -> {
+                    statusesByOrderId.put(order.getId(), OrderStatus.CANCELED);
+                    canceledOrderIds.add(order.getId());
+                }
+                case SUCCESS -> {
+                    if (paymentEvent.getPaymentAmount().compareTo(order.getTotalPrice()) == 0) {
+                        statusesByOrderId.put(order.getId(), OrderStatus.PAYED);
+                        paidTotalPricesByOrderId.put(order.getId(), order.getTotalPrice());
+                    } else {
+                        log.info("Payment for order with id {} succeed, but payment amount {} lower than totalPrice {}", order.getId(), paymentEvent.getPaymentAmount(), order.getTotalPrice());
+                    }
                 }
-                log.info("Payment for order with id {} succeed, but payment amount {} lower than totalPrice {}", orderToEdit.getId(),paymentEvent.getPaymentAmount(),orderToEdit.getTotalPrice());
-                break;
             }
         }
-        orderRepository.save(orderToEdit);
+
+        int canceled = canceledOrderIds.isEmpty() ? 0 : orderRepository.transitionStatusOfAll(canceledOrderIds, PAYABLE_STATUSES, OrderStatus.CANCELED);
+        int payed = orderRepository.transitionStatusIfTotalPricesEqual(paidTotalPricesByOrderId, PAYABLE_STATUSES, OrderStatus.PAYED);
+        log.info("Processed {} payment events: {} orders payed, {} orders canceled", paymentEvents.size(), payed, canceled);
+        if (canceled < canceledOrderIds.size() || payed < paidTotalPricesByOrderId.size()) {
+            log.info("{} order transitions were skipped because orders changed concurrently",
+                    canceledOrderIds.size() + paidTotalPricesByOrderId.size() - canceled - payed);
+        }
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID + "-key-ordered",
+            topics = "CREATE_PAYMENT_EVENT",
+            groupId = "order-service-group",
+            batch = "true",
+            autoStartup = "#{'${payment-events.listener.mode}' == 'key-ordered'}"
+    )
+    public void handlePaymentEventsKeyOrdered(List<ConsumerRecord<String, PaymentEvent>> records, Acknowledgment acknowledgment) {
+        Map<Long, List<Integer>> indexesByOrderId = new LinkedHashMap<>();
+        for (int index = 0; index < records.size(); index++) {
+            indexesByOrderId.computeIfAbsent(records.get(index).value().getOrderId(), orderId -> new ArrayList<>()).add(index);
+        }
+        ConcurrentSkipListMap<Integer, RuntimeException> failuresByIndex = new ConcurrentSkipListMap<>();
+        CompletableFuture<?>[] lanes = indexesByOrderId.values().stream()
+                .map(indexes -> CompletableFuture.runAsync(() -> processInOrder(records, indexes, failuresByIndex), paymentEventWorkerExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(lanes).join();
+
+        if (!failuresByIndex.isEmpty()) {
+            Map.Entry<Integer, RuntimeException> firstFailure = failuresByIndex.firstEntry();
+            ConsumerRecord<String, PaymentEvent> failedRecord = records.get(firstFailure.getKey());
+            log.warn("Payment event at {}-{}@{} failed, committing offsets below it only",
+                    failedRecord.topic(), failedRecord.partition(), failedRecord.offset(), firstFailure.getValue());
+            throw new BatchListenerFailedException(firstFailure.getValue().getMessage(), firstFailure.getValue(), firstFailure.getKey());
+        }
+        log.info("Processed {} payment events for {} orders in parallel", records.size(), indexesByOrderId.size());
         acknowledgment.acknowledge();
     }
+
+    private void processInOrder(List<ConsumerRecord<String, PaymentEvent>> records, List<Integer> indexes, Map<Integer, RuntimeException> failuresByIndex) {
+        for (Integer index : indexes) {
+            try {
+                workerPermits.acquire();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> processPaymentEvent(records.get(index).value()));
+                } finally {
+                    workerPermits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failuresByIndex.put(index, new IllegalStateException("Interrupted while waiting for a payment event worker", e));
+                return;
+            } catch (RuntimeException e) {
+                failuresByIndex.put(index, e);
+                return;
+            }
+        }
+    }
+
+    private void logSkippedTransition(PaymentEvent paymentEvent) {
+        Order order = orderRepository.findById(paymentEvent.getOrderId()).orElseThrow(() -> new OrderNotFoundException(paymentEvent.getOrderId()));
+        log.info("Payment {} of {} for order with id {} ignored, order is {} with totalPrice {}",
+                paymentEvent.getStatus(), paymentEvent.getPaymentAmount(), order.getId(), order.getOrderStatus(), order.getTotalPrice());
+    }
 }
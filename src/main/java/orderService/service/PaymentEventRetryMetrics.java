@@ -0,0 +1,35 @@
+package orderService.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaymentEventRetryMetrics {
+
+    public static final String FAILED_METRIC = "payment.events.failed";
+    public static final String DEAD_LETTERED_METRIC = "payment.events.dead-lettered";
+    private final MeterRegistry meterRegistry;
+
+    public PaymentEventRetryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordFailure(String stageTopic, Throwable exception) {
+        meterRegistry.counter(FAILED_METRIC, "stage", stageTopic, "exception", exceptionName(exception)).increment();
+    }
+
+    public void recordDeadLetter(String originalTopic, String exceptionClassName) {
+        String exception = exceptionClassName == null ? "unknown" : exceptionClassName.substring(exceptionClassName.lastIndexOf('.') + 1);
+        meterRegistry.counter(DEAD_LETTERED_METRIC, "topic", originalTopic == null ? "unknown" : originalTopic, "exception", exception).increment();
+    }
+
+    private String exceptionName(Throwable exception) {
+        Throwable cause = exception;
+        while (cause instanceof ListenerExecutionFailedException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+}
@@ -0,0 +1,100 @@
+package orderService.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import common.PaymentEvent;
+import orderService.repository.ProcessedPaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class ProcessedPaymentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessedPaymentStore.class);
+    private final ProcessedPaymentRepository processedPaymentRepository;
+    private final Duration retention;
+    private final Cache<String, Boolean> recentPaymentIds;
+
+    public ProcessedPaymentStore(ProcessedPaymentRepository processedPaymentRepository,
+                                 @Value("${payment-events.dedup.recent-ids.maximum-size}") long maximumSize,
+                                 @Value("${payment-events.dedup.retention}") Duration retention) {
+        this.processedPaymentRepository = processedPaymentRepository;
+        this.retention = retention;
+        this.recentPaymentIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public boolean isRecentlyProcessed(String paymentId) {
+        return recentPaymentIds.getIfPresent(paymentId) != null;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(String paymentId, Long orderId) {
+        if (processedPaymentRepository.insertIfAbsent(paymentId, orderId) == 0) {
+            remember(List.of(paymentId));
+            return false;
+        }
+        rememberAfterCommit(List.of(paymentId));
+        return true;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<String> claimUnprocessed(List<PaymentEvent> paymentEvents) {
+        Map<String, Long> orderIdsByPaymentId = new LinkedHashMap<>();
+        for (PaymentEvent paymentEvent : paymentEvents) {
+            if (!isRecentlyProcessed(paymentEvent.getPaymentId())) {
+                orderIdsByPaymentId.putIfAbsent(paymentEvent.getPaymentId(), paymentEvent.getOrderId());
+            }
+        }
+        if (orderIdsByPaymentId.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> claimedPaymentIds = new LinkedHashSet<>(processedPaymentRepository.insertAllIfAbsent(
+                orderIdsByPaymentId.keySet().toArray(String[]::new), orderIdsByPaymentId.values().toArray(Long[]::new)));
+        orderIdsByPaymentId.keySet().removeAll(claimedPaymentIds);
+        remember(orderIdsByPaymentId.keySet());
+        rememberAfterCommit(claimedPaymentIds);
+        return claimedPaymentIds;
+    }
+
+    @Scheduled(fixedDelayString = "${payment-events.dedup.purge-interval}", initialDelayString = "${payment-events.dedup.purge-interval}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = processedPaymentRepository.deleteProcessedBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} processed payments older than {}", purged, retention);
+        }
+    }
+
+    private void remember(Collection<String> paymentIds) {
+        paymentIds.forEach(paymentId -> recentPaymentIds.put(paymentId, Boolean.TRUE));
+    }
+
+    private void rememberAfterCommit(Collection<String> paymentIds) {
+        List<String> committedPaymentIds = List.copyOf(paymentIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(committedPaymentIds);
+            }
+        });
+    }
+
+}
@@ -1,19 +1,16 @@
 package orderService.service;
 
-import orderService.entity.Order;
-import orderService.exception.OrderNotFoundException;
 import orderService.repository.ItemRepository;
-import orderService.repository.OrderRepository;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
 @Service
 public class SecurityService {
 
-    private final OrderRepository orderRepository;
+    private final OrderOwnershipCache orderOwnershipCache;
 
-    public SecurityService(OrderRepository orderRepository, ItemRepository itemRepository) {
-        this.orderRepository = orderRepository;
+    public SecurityService(OrderOwnershipCache orderOwnershipCache, ItemRepository itemRepository) {
+        this.orderOwnershipCache = orderOwnershipCache;
     }
 
     public boolean isResourceOwner(String resourceName, Long resourceId, JwtAuthenticationToken token) {
@@ -22,8 +19,7 @@ public class SecurityService {
             return resourceId.equals(userIdFromToken);
         }
         if (resourceName.equals("Order")) {
-            Order order = orderRepository.findById(resourceId).orElseThrow(() -> new OrderNotFoundException(resourceId));
-            return order.getUserId().equals(userIdFromToken);
+            return orderOwnershipCache.findOwnerId(resourceId).equals(userIdFromToken);
         }
         return false;
     }
@@ -2,8 +2,13 @@ package orderService.service;
 
 import orderService.dto.UserDto;
 
+import java.util.Map;
+import java.util.Set;
+
 public interface UserServiceClient {
 
     public UserDto findUserById(Long userId);
 
+    public Map<Long, UserDto> findUsersByIds(Set<Long> userIds);
+
 }
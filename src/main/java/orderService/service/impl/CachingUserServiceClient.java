@@ -0,0 +1,62 @@
+package orderService.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import orderService.dto.UserDto;
+import orderService.service.UserServiceClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Primary
+public class CachingUserServiceClient implements UserServiceClient {
+
+    private static final String CACHE_NAME = "user-service.users";
+    private final UserServiceClient delegate;
+    private final LastKnownGoodUserStore lastKnownGoodUserStore;
+    private final Cache<Long, UserDto> userCache;
+
+    public CachingUserServiceClient(@Qualifier("userServiceRestClientImpl") UserServiceClient delegate,
+                                    LastKnownGoodUserStore lastKnownGoodUserStore,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${user-service.cache.maximum-size}") long maximumSize,
+                                    @Value("${user-service.cache.ttl}") Duration ttl) {
+        this.delegate = delegate;
+        this.lastKnownGoodUserStore = lastKnownGoodUserStore;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, CACHE_NAME);
+        lastKnownGoodUserStore.onRefresh(userDtos -> userDtos.forEach(userDto -> userCache.put(userDto.id(), userDto)));
+    }
+
+    @Override
+    public UserDto findUserById(Long userId) {
+        UserDto userDto = userCache.get(userId, delegate::findUserById);
+        if (lastKnownGoodUserStore.isStale(userId)) {
+            userCache.invalidate(userId);
+        }
+        return userDto;
+    }
+
+    @Override
+    public Map<Long, UserDto> findUsersByIds(Set<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, UserDto> users = userCache.getAll(userIds, missingUserIds -> delegate.findUsersByIds(Set.copyOf(missingUserIds)));
+        users.keySet().stream().filter(lastKnownGoodUserStore::isStale).forEach(userCache::invalidate);
+        return users;
+    }
+
+}
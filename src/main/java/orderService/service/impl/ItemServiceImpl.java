@@ -1,5 +1,6 @@
 package orderService.service.impl;
 
+import orderService.dto.CursorPageDto;
 import orderService.dto.ItemCreateRequestDto;
 import orderService.dto.ItemDto;
 import orderService.dto.ItemUpdateDto;
@@ -9,11 +10,15 @@ import orderService.exception.ItemNotFoundException;
 import orderService.mapper.ItemMapper;
 import orderService.repository.ItemRepository;
 import orderService.service.ItemService;
+import orderService.specification.KeysetCursor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 public class ItemServiceImpl implements ItemService {
 
@@ -54,7 +59,7 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteItemById(Long itemId) {
-        itemRepository.deleteById(itemId);
+        itemRepository.softDeleteById(itemId);
     }
 
     @Override
@@ -63,4 +68,22 @@ public class ItemServiceImpl implements ItemService {
     public PageDto<ItemDto> findAll(Pageable pageable) {
         return itemMapper.toPageDto(itemRepository.findAll(pageable).map(itemMapper::toDto));
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('USER'))")
+    public CursorPageDto<ItemDto> findAllByCursor(String cursor, int size) {
+        Specification<Item> specification = (cursor == null || cursor.isBlank())
+                ? Specification.unrestricted()
+                : KeysetCursor.decode(cursor).toSpecification();
+        List<Item> items = itemRepository.findBy(specification, query -> query.sortBy(KeysetCursor.SORT).limit(size + 1).all());
+        boolean hasNext = items.size() > size;
+        List<Item> pageItems = hasNext ? items.subList(0, size) : items;
+        String nextCursor = null;
+        if (hasNext) {
+            Item last = pageItems.get(pageItems.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(pageItems.stream().map(itemMapper::toDto).toList(), size, hasNext, nextCursor);
+    }
 }
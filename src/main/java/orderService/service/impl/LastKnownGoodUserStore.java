@@ -0,0 +1,73 @@
+package orderService.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import orderService.dto.UserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+public class LastKnownGoodUserStore {
+
+    private final Cache<Long, UserDto> lastKnownGoodUsers;
+    private final Cache<Long, Boolean> staleUserIds;
+    private final List<Consumer<Collection<UserDto>>> refreshListeners = new CopyOnWriteArrayList<>();
+
+    public LastKnownGoodUserStore(@Value("${user-service.last-known-good.maximum-size}") long maximumSize,
+                                  @Value("${user-service.last-known-good.ttl}") Duration ttl) {
+        this.lastKnownGoodUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.staleUserIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public void remember(UserDto userDto) {
+        if (userDto == null || userDto.id() == null) {
+            return;
+        }
+        lastKnownGoodUsers.put(userDto.id(), userDto);
+        staleUserIds.invalidate(userDto.id());
+    }
+
+    public void rememberAll(Collection<UserDto> userDtos) {
+        userDtos.forEach(this::remember);
+    }
+
+    public void refreshed(Collection<UserDto> userDtos) {
+        rememberAll(userDtos);
+        refreshListeners.forEach(listener -> listener.accept(userDtos));
+    }
+
+    public void onRefresh(Consumer<Collection<UserDto>> listener) {
+        refreshListeners.add(listener);
+    }
+
+    public Optional<UserDto> findStale(Long userId) {
+        UserDto userDto = lastKnownGoodUsers.getIfPresent(userId);
+        if (userDto != null) {
+            staleUserIds.put(userId, Boolean.TRUE);
+        }
+        return Optional.ofNullable(userDto);
+    }
+
+    public boolean isStale(Long userId) {
+        return staleUserIds.getIfPresent(userId) != null;
+    }
+
+    public Set<Long> findStaleUserIds() {
+        return Set.copyOf(staleUserIds.asMap().keySet());
+    }
+
+}
@@ -1,5 +1,6 @@
 package orderService.service.impl;
 
+import io.github.resilience4j.retry.annotation.Retry;
 import orderService.dto.*;
 import orderService.entity.Item;
 import orderService.entity.Order;
@@ -10,32 +11,57 @@ import orderService.exception.OrderNotFoundException;
 import orderService.mapper.OrderMapper;
 import orderService.repository.ItemRepository;
 import orderService.repository.OrderRepository;
+import orderService.service.OrderCountEstimator;
+import orderService.service.OrderIdempotencyStore;
+import orderService.service.OrderOwnershipCache;
 import orderService.service.OrderService;
 import orderService.service.UserServiceClient;
+import orderService.specification.KeysetCursor;
 import orderService.specification.OrderFilterRequest;
-import orderService.specification.OrderSpecification;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final String ORDER_UPDATE_RETRY = "order-update";
     private final OrderMapper orderMapper;
     private final OrderRepository orderRepository;
     private final ItemRepository itemRepository;
     private final UserServiceClient userServiceClient;
+    private final OrderOwnershipCache orderOwnershipCache;
+    private final OrderCountEstimator orderCountEstimator;
+    private final OrderIdempotencyStore orderIdempotencyStore;
 
-    public OrderServiceImpl(OrderMapper orderMapper, OrderRepository orderRepository, ItemRepository itemRepository, UserServiceClient userServiceClient) {
+    public OrderServiceImpl(OrderMapper orderMapper, OrderRepository orderRepository, ItemRepository itemRepository, UserServiceClient userServiceClient,
+                            OrderOwnershipCache orderOwnershipCache, OrderCountEstimator orderCountEstimator,
+                            OrderIdempotencyStore orderIdempotencyStore) {
         this.orderMapper = orderMapper;
         this.orderRepository = orderRepository;
         this.itemRepository = itemRepository;
         this.userServiceClient = userServiceClient;
+        this.orderOwnershipCache = orderOwnershipCache;
+        this.orderCountEstimator = orderCountEstimator;
+        this.orderIdempotencyStore = orderIdempotencyStore;
     }
 
     @Transactional(readOnly = true)
@@ -54,19 +80,67 @@ public class OrderServiceImpl implements OrderService {
         return addUserDtoToOrderDto(orderDto, order.getUserId());
     }
 
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('USER') and @securityService.isResourceOwner('User',#orderCreateRequestDto.userId,authentication))")
+    public OrderDto createOrder(OrderCreateRequestDto orderCreateRequestDto, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createOrder(orderCreateRequestDto);
+        }
+        Optional<Long> completedOrderId = orderIdempotencyStore.findCompletedOrderId(idempotencyKey, orderCreateRequestDto);
+        if (completedOrderId.isPresent()) {
+            Order order = orderRepository.findById(completedOrderId.get()).orElseThrow(() -> new OrderNotFoundException(completedOrderId.get()));
+            return addUserDtoToOrderDto(orderMapper.toDto(order), order.getUserId());
+        }
+        Order order = orderRepository.save(createNewOrder(orderCreateRequestDto));
+        orderIdempotencyStore.complete(idempotencyKey, orderCreateRequestDto, order.getId());
+        return addUserDtoToOrderDto(orderMapper.toDto(order), order.getUserId());
+    }
+
     private Order createNewOrder(OrderCreateRequestDto orderCreateRequestDto) {
+        return createNewOrder(orderCreateRequestDto, findItemsByIds(mergeQuantitiesByItemId(orderCreateRequestDto.getOrderItemList()).keySet()));
+    }
+
+    private Order createNewOrder(OrderCreateRequestDto orderCreateRequestDto, Map<Long, Item> itemsById) {
         Order newOrder = new Order();
         newOrder.setUserId(orderCreateRequestDto.getUserId());
         newOrder.setOrderStatus(OrderStatus.PENDING);
-        List<OrderItemCreateRequestDto> itemCreateRequestDtos = orderCreateRequestDto.getOrderItemList();
-        for (OrderItemCreateRequestDto itemCreateRequestDto : itemCreateRequestDtos) {
-            Item itemToAdd = itemRepository.findById(itemCreateRequestDto.itemId()).orElseThrow(() -> new ItemNotFoundException(itemCreateRequestDto.itemId()));
-            newOrder.addItem(itemToAdd, itemCreateRequestDto.quantity());
-        }
+        addOrderItems(newOrder, orderCreateRequestDto.getOrderItemList(), itemsById);
         newOrder.updateTotalPrice();
         return newOrder;
     }
 
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<OrderBulkCreateResultDto> createOrders(List<OrderCreateRequestDto> orderCreateRequestDtos) {
+        Set<Long> itemIds = orderCreateRequestDtos.stream()
+                .flatMap(orderCreateRequestDto -> orderCreateRequestDto.getOrderItemList().stream())
+                .map(OrderItemCreateRequestDto::itemId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Item> itemsById = findItemsByIds(itemIds);
+
+        Map<Integer, Order> ordersByIndex = new LinkedHashMap<>();
+        Map<Integer, String> errorsByIndex = new HashMap<>();
+        for (int index = 0; index < orderCreateRequestDtos.size(); index++) {
+            try {
+                ordersByIndex.put(index, createNewOrder(orderCreateRequestDtos.get(index), itemsById));
+            } catch (ItemNotFoundException e) {
+                errorsByIndex.put(index, e.getMessage());
+            }
+        }
+        orderRepository.saveAll(ordersByIndex.values());
+        orderRepository.flush();
+
+        Map<Long, UserDto> users = findUsersOf(List.copyOf(ordersByIndex.values()));
+        List<OrderBulkCreateResultDto> results = new ArrayList<>(orderCreateRequestDtos.size());
+        for (int index = 0; index < orderCreateRequestDtos.size(); index++) {
+            Order order = ordersByIndex.get(index);
+            results.add(order != null
+                    ? new OrderBulkCreateResultDto(index, toDtoWithUser(order, users), null)
+                    : new OrderBulkCreateResultDto(index, null, errorsByIndex.get(index)));
+        }
+        return results;
+    }
+
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or (hasRole('USER') and @securityService.isResourceOwner('User',#userId,authentication))")
     public List<OrderDto> findAllByUserId(Long userId) {
@@ -81,30 +155,72 @@ public class OrderServiceImpl implements OrderService {
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteById(Long orderId) {
         orderRepository.deleteById(orderId);
+        orderOwnershipCache.evict(orderId);
     }
 
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     public PageDto<OrderDto> findAll(OrderFilterRequest orderFilterRequest, Pageable pageable) {
         Page<Order> dtoPage = orderRepository.findAll(orderFilterRequest.toSpecification(), pageable);
-        return orderMapper.toPageDto(dtoPage.map(order -> {
-            OrderDto orderDto = orderMapper.toDto(order);
-            addUserDtoToOrderDto(orderDto, order.getUserId());
-            return orderDto;
-        }));
+        return toPageDtoWithUsers(dtoPage);
     }
 
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     public PageDto<OrderDto> findAllWithAllData(OrderFilterRequest orderFilterRequest, Pageable pageable) {
-        Page<Order> dtoPage = orderRepository.findAll(orderFilterRequest.toSpecification().and(OrderSpecification.withAllData()), pageable);
-        return orderMapper.toPageDto(dtoPage.map(order -> {
-            OrderDto orderDto = orderMapper.toDto(order);
-            addUserDtoToOrderDto(orderDto, order.getUserId());
-            return orderDto;
-        }));
+        return findAllWithAllData(orderFilterRequest, pageable, CountMode.EXACT);
+    }
+
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public PageDto<OrderDto> findAllWithAllData(OrderFilterRequest orderFilterRequest, Pageable pageable, CountMode countMode) {
+        Specification<Order> specification = orderFilterRequest.toSpecification();
+        if (countMode == CountMode.NONE && pageable.isPaged()) {
+            return findSliceWithAllData(specification, pageable);
+        }
+        List<Long> orderIds = orderRepository.findIds(specification, pageable);
+        LongSupplier totalSupplier = countMode == CountMode.ESTIMATED
+                ? () -> orderCountEstimator.estimateCount(orderFilterRequest)
+                : () -> orderRepository.count(specification);
+        Page<Order> dtoPage = PageableExecutionUtils.getPage(findAllWithAllDataByIds(orderIds), pageable, totalSupplier);
+        return toPageDtoWithUsers(dtoPage);
+    }
+
+    private PageDto<OrderDto> findSliceWithAllData(Specification<Order> specification, Pageable pageable) {
+        List<Long> orderIds = orderRepository.findIds(specification, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = orderIds.size() > pageable.getPageSize();
+        List<Order> orders = findAllWithAllDataByIds(hasNext ? orderIds.subList(0, pageable.getPageSize()) : orderIds);
+        return new PageDto<>(toDtosWithUsers(orders), pageable.getPageNumber(), pageable.getPageSize(), null, null, hasNext);
     }
 
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPageDto<OrderDto> findAllWithAllDataByCursor(OrderFilterRequest orderFilterRequest, String cursor, int size) {
+        Specification<Order> specification = orderFilterRequest.toSpecification();
+        if (cursor != null && !cursor.isBlank()) {
+            specification = specification.and(KeysetCursor.decode(cursor).toSpecification());
+        }
+        List<Long> orderIds = orderRepository.findIds(specification, PageRequest.of(0, size + 1, KeysetCursor.SORT));
+        boolean hasNext = orderIds.size() > size;
+        List<Order> orders = findAllWithAllDataByIds(hasNext ? orderIds.subList(0, size) : orderIds);
+        String nextCursor = null;
+        if (hasNext && !orders.isEmpty()) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(toDtosWithUsers(orders), size, hasNext, nextCursor);
+    }
+
+    private List<Order> findAllWithAllDataByIds(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> ordersById = orderRepository.findAllByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, order -> order));
+        return orderIds.stream().map(ordersById::get).filter(Objects::nonNull).toList();
+    }
+
+    @Retry(name = ORDER_UPDATE_RETRY)
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public OrderDto updateOrderById(Long orderId, OrderUpdateRequestDto orderDto) {
@@ -114,7 +230,28 @@ public class OrderServiceImpl implements OrderService {
         return addUserDtoToOrderDto(saved,order.getUserId());
     }
 
+    @Retry(name = ORDER_UPDATE_RETRY)
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public OrderDto patchOrderById(Long orderId, OrderUpdateRequestDto orderDto) {
+        Order order = orderRepository.findById(orderId).orElseThrow(() -> new OrderNotFoundException(orderId));
+        applyOrderFields(order, orderDto);
+        if (orderDto != null && orderDto.orderItemList() != null) {
+            updateOrderItems(order, orderDto.orderItemList());
+        }
+        OrderDto saved = orderMapper.toDto(orderRepository.save(order));
+        return addUserDtoToOrderDto(saved, order.getUserId());
+    }
+
     private void handleOrderUpdate(Order order, OrderUpdateRequestDto orderDto) {
+        if (orderDto == null) {
+            return;
+        }
+        applyOrderFields(order, orderDto);
+        updateOrderItems(order, orderDto.orderItemList() != null ? orderDto.orderItemList() : List.of());
+    }
+
+    private void applyOrderFields(Order order, OrderUpdateRequestDto orderDto) {
         if (orderDto == null) {
             return;
         }
@@ -123,27 +260,73 @@ public class OrderServiceImpl implements OrderService {
         }
         if (orderDto.deleted() != null) {
             order.setDeleted(orderDto.deleted());
+            orderOwnershipCache.evict(order.getId());
         }
+    }
 
-        List<OrderItem> itemsToRemove = new ArrayList<>(order.getOrderItemList());
-        for (OrderItem oldOrderItem : itemsToRemove) {
-            oldOrderItem.getItem().getOrderItemList().remove(oldOrderItem);
-            oldOrderItem.setOrder(null);
-            oldOrderItem.setItem(null);
-        }
-        order.getOrderItemList().clear();
-        if (orderDto.orderItemList() != null && !orderDto.orderItemList().isEmpty()) {
-            orderDto.orderItemList().forEach(orderItemDto -> {
-                Item item = itemRepository.findById(orderItemDto.itemId()).orElseThrow(() -> new ItemNotFoundException(orderItemDto.itemId()));
-                order.addItem(item, orderItemDto.quantity());
-            });
+    private void updateOrderItems(Order order, List<OrderItemCreateRequestDto> orderItemDtos) {
+        Map<Long, Integer> quantitiesByItemId = mergeQuantitiesByItemId(orderItemDtos);
+        order.getOrderItemList().removeIf(orderItem -> !quantitiesByItemId.containsKey(orderItem.getItem().getId()));
+        Map<Long, OrderItem> orderItemsByItemId = order.getOrderItemList().stream()
+                .collect(Collectors.toMap(orderItem -> orderItem.getItem().getId(), orderItem -> orderItem));
+        List<OrderItemCreateRequestDto> newOrderItemDtos = new ArrayList<>();
+        quantitiesByItemId.forEach((itemId, quantity) -> {
+            OrderItem orderItem = orderItemsByItemId.get(itemId);
+            if (orderItem == null) {
+                newOrderItemDtos.add(new OrderItemCreateRequestDto(itemId, quantity));
+            } else if (!orderItem.getQuantity().equals(quantity)) {
+                orderItem.setQuantity(quantity);
+            }
+        });
+        if (!newOrderItemDtos.isEmpty()) {
+            addOrderItems(order, newOrderItemDtos, findItemsByIds(mergeQuantitiesByItemId(newOrderItemDtos).keySet()));
         }
         order.updateTotalPrice();
     }
 
+    private void addOrderItems(Order order, List<OrderItemCreateRequestDto> orderItemDtos, Map<Long, Item> itemsById) {
+        Map<Long, Integer> quantitiesByItemId = mergeQuantitiesByItemId(orderItemDtos);
+        List<Long> missingItemIds = quantitiesByItemId.keySet().stream().filter(itemId -> !itemsById.containsKey(itemId)).toList();
+        if (!missingItemIds.isEmpty()) {
+            throw new ItemNotFoundException(missingItemIds);
+        }
+        quantitiesByItemId.forEach((itemId, quantity) -> order.addItem(itemsById.get(itemId), quantity));
+    }
+
+    private Map<Long, Integer> mergeQuantitiesByItemId(List<OrderItemCreateRequestDto> orderItemDtos) {
+        return orderItemDtos.stream()
+                .collect(Collectors.toMap(OrderItemCreateRequestDto::itemId, OrderItemCreateRequestDto::quantity, Integer::sum, LinkedHashMap::new));
+    }
+
+    private Map<Long, Item> findItemsByIds(Collection<Long> itemIds) {
+        return itemRepository.findAllById(List.copyOf(itemIds)).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+    }
+
     private OrderDto addUserDtoToOrderDto(OrderDto orderDto, Long userId) {
         UserDto userDto = userServiceClient.findUserById(userId);
         orderDto.setUser(userDto);
         return orderDto;
     }
+
+    private PageDto<OrderDto> toPageDtoWithUsers(Page<Order> orderPage) {
+        Map<Long, UserDto> users = findUsersOf(orderPage.getContent());
+        return orderMapper.toPageDto(orderPage.map(order -> toDtoWithUser(order, users)));
+    }
+
+    private List<OrderDto> toDtosWithUsers(List<Order> orders) {
+        Map<Long, UserDto> users = findUsersOf(orders);
+        return orders.stream().map(order -> toDtoWithUser(order, users)).toList();
+    }
+
+    private Map<Long, UserDto> findUsersOf(List<Order> orders) {
+        Set<Long> userIds = orders.stream().map(Order::getUserId).collect(Collectors.toSet());
+        return userServiceClient.findUsersByIds(userIds);
+    }
+
+    private OrderDto toDtoWithUser(Order order, Map<Long, UserDto> users) {
+        OrderDto orderDto = orderMapper.toDto(order);
+        orderDto.setUser(users.get(order.getUserId()));
+        return orderDto;
+    }
 }
@@ -1,47 +1,157 @@
 package orderService.service.impl;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker.State;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import orderService.dto.UserDto;
 import orderService.exception.ServiceUnavailableException;
 import orderService.exception.UserNotFoundException;
 import orderService.security.RequestContext;
 import orderService.service.UserServiceClient;
+import orderService.util.RequestCoalescer;
 import org.apache.coyote.BadRequestException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
 @Service
 public class UserServiceRestClientImpl implements UserServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceRestClientImpl.class);
+    private static final String USER_SERVICE_CIRCUIT_BREAKER = "user-service";
+    private static final String USER_BY_ID_RELATIVE_API_URI = "api/v1/users/{userId}";
+    private static final String USERS_BY_IDS_RELATIVE_API_URI = "api/v1/users/batch?ids={userIds}";
     private final RestClient userServiceRestClient;
     private final RequestContext requestContext;
+    private final ExecutorService userServiceLookupExecutor;
+    private final LastKnownGoodUserStore lastKnownGoodUserStore;
+    private final io.github.resilience4j.circuitbreaker.CircuitBreaker userServiceCircuitBreaker;
+    private final String staleRefreshToken;
+    private final RequestCoalescer<Long, UserDto> userLookupCoalescer = new RequestCoalescer<>();
+
+    @Value("${user-service.batch-lookup.enabled:false}")
+    private boolean batchLookupEnabled;
 
-    public UserServiceRestClientImpl(RestClient userServiceRestClient, RequestContext requestContext) {
+    public UserServiceRestClientImpl(RestClient userServiceRestClient, RequestContext requestContext, ExecutorService userServiceLookupExecutor,
+                                     LastKnownGoodUserStore lastKnownGoodUserStore, CircuitBreakerRegistry circuitBreakerRegistry,
+                                     @Value("${user-service.stale-refresh.token}") String staleRefreshToken) {
         this.userServiceRestClient = userServiceRestClient;
         this.requestContext = requestContext;
+        this.userServiceLookupExecutor = userServiceLookupExecutor;
+        this.lastKnownGoodUserStore = lastKnownGoodUserStore;
+        this.staleRefreshToken = staleRefreshToken;
+        this.userServiceCircuitBreaker = circuitBreakerRegistry.circuitBreaker(USER_SERVICE_CIRCUIT_BREAKER);
+        this.userServiceCircuitBreaker.getEventPublisher().onStateTransition(event -> {
+            State toState = event.getStateTransition().getToState();
+            if (toState == State.HALF_OPEN || toState == State.CLOSED) {
+                refreshStaleUsers();
+            }
+        });
     }
 
     @Override
-    @CircuitBreaker(name = "user-service")
+    @CircuitBreaker(name = USER_SERVICE_CIRCUIT_BREAKER, fallbackMethod = "findUserByIdFallback")
     public UserDto findUserById(Long userId) {
+        UserDto userDto = fetchUserCoalesced(userId, getTokenValue());
+        lastKnownGoodUserStore.remember(userDto);
+        return userDto;
+    }
+
+    @Override
+    @CircuitBreaker(name = USER_SERVICE_CIRCUIT_BREAKER, fallbackMethod = "findUsersByIdsFallback")
+    public Map<Long, UserDto> findUsersByIds(Set<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, UserDto> users = fetchUsers(userIds, getTokenValue());
+        lastKnownGoodUserStore.rememberAll(users.values());
+        return users;
+    }
+
+    private UserDto findUserByIdFallback(Long userId, CallNotPermittedException e) {
+        logger.warn("User service circuit is open, serving last known user {}", userId);
+        return lastKnownGoodUserStore.findStale(userId).orElseThrow(() -> e);
+    }
+
+    private Map<Long, UserDto> findUsersByIdsFallback(Set<Long> userIds, CallNotPermittedException e) {
+        logger.warn("User service circuit is open, serving last known users {}", userIds);
+        Map<Long, UserDto> users = new HashMap<>();
+        for (Long userId : userIds) {
+            lastKnownGoodUserStore.findStale(userId).ifPresent(userDto -> users.put(userId, userDto));
+        }
+        if (users.isEmpty()) {
+            throw e;
+        }
+        return users;
+    }
+
+    private void refreshStaleUsers() {
+        Set<Long> staleUserIds = lastKnownGoodUserStore.findStaleUserIds();
+        if (staleUserIds.isEmpty()) {
+            return;
+        }
+        if (staleRefreshToken.isBlank()) {
+            logger.info("No user service refresh token configured, {} stale users will be refetched by their next request", staleUserIds.size());
+            return;
+        }
+        logger.info("Refreshing {} stale users after user service circuit transition", staleUserIds.size());
+        userServiceLookupExecutor.execute(() -> {
+            try {
+                lastKnownGoodUserStore.refreshed(userServiceCircuitBreaker.executeSupplier(() -> fetchUsers(staleUserIds, staleRefreshToken)).values());
+            } catch (RuntimeException e) {
+                logger.debug("Refresh of stale users failed: {}", e.getMessage());
+            }
+        });
+    }
 
+    private String getTokenValue() {
         String tokenValue = requestContext.getTokenValue();
         if (tokenValue == null) {
             throw new AccessDeniedException("No authentication token available");
         }
-        String USER_BY_ID_RELATIVE_API_URI = "api/v1/users/{userId}";
+        return tokenValue;
+    }
+
+    private Map<Long, UserDto> fetchUsers(Set<Long> userIds, String tokenValue) {
+        if (batchLookupEnabled) {
+            List<UserDto> batch = fetchUsersBatch(userIds, tokenValue);
+            if (batch != null) {
+                return batch.stream().collect(Collectors.toMap(UserDto::id, userDto -> userDto, (first, second) -> first));
+            }
+        }
+        return fetchUsersInParallel(userIds, tokenValue);
+    }
+
+    private UserDto fetchUserCoalesced(Long userId, String tokenValue) {
+        return userLookupCoalescer.execute(userId, () -> fetchUser(userId, tokenValue));
+    }
+
+    private UserDto fetchUser(Long userId, String tokenValue) {
         return userServiceRestClient
                 .get()
                 .uri(USER_BY_ID_RELATIVE_API_URI, userId)
                 .header("Authorization", "Bearer " + tokenValue)
                 .retrieve()
                 .onStatus((httpStatusCode -> httpStatusCode.isSameCodeAs(HttpStatusCode.valueOf(403))), (request, response) -> {
-                    logger.warn("Access denied for user {} to resource {}", requestContext.getUserId(), userId);
+                    logger.warn("Access denied to user resource {}", userId);
                     throw new AccessDeniedException("User does not have permission to access this resource");
                 })
                 .onStatus((httpStatusCode -> httpStatusCode.isSameCodeAs(HttpStatusCode.valueOf(404))), (request, response) -> {
@@ -56,7 +166,58 @@ public class UserServiceRestClientImpl implements UserServiceClient {
                     throw new ServiceUnavailableException("User service is temporarily unavailable. Please try again later.");
                 })
                 .body(UserDto.class);
+    }
 
+    private List<UserDto> fetchUsersBatch(Set<Long> userIds, String tokenValue) {
+        String ids = userIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            return userServiceRestClient
+                    .get()
+                    .uri(USERS_BY_IDS_RELATIVE_API_URI, ids)
+                    .header("Authorization", "Bearer " + tokenValue)
+                    .retrieve()
+                    .onStatus((httpStatusCode -> httpStatusCode.isSameCodeAs(HttpStatusCode.valueOf(403))), (request, response) -> {
+                        logger.warn("Access denied to user resources {}", ids);
+                        throw new AccessDeniedException("User does not have permission to access this resource");
+                    })
+                    .onStatus(HttpStatusCode::is5xxServerError, (request, response) -> {
+                        logger.warn(response.getStatusText());
+                        throw new ServiceUnavailableException("User service is temporarily unavailable. Please try again later.");
+                    })
+                    .body(new ParameterizedTypeReference<List<UserDto>>() {
+                    });
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND) || e.getStatusCode().isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED)) {
+                logger.warn("Batch user lookup is not supported by user service, falling back to parallel lookups");
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private Map<Long, UserDto> fetchUsersInParallel(Set<Long> userIds, String tokenValue) {
+        Map<Long, CompletableFuture<UserDto>> futures = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            futures.put(userId, CompletableFuture.supplyAsync(() -> fetchUserCoalesced(userId, tokenValue), userServiceLookupExecutor));
+        }
+        Map<Long, UserDto> users = new HashMap<>();
+        for (Map.Entry<Long, CompletableFuture<UserDto>> future : futures.entrySet()) {
+            try {
+                UserDto userDto = future.getValue().join();
+                if (userDto != null) {
+                    users.put(future.getKey(), userDto);
+                }
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UserNotFoundException) {
+                    continue;
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return users;
     }
 
 }
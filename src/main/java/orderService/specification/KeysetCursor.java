@@ -0,0 +1,41 @@
+package orderService.specification;
+
+import orderService.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record KeysetCursor(Instant createdAt, Long id) {
+
+    public static final Sort SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new KeysetCursor(Instant.parse(decoded.substring(0, separatorIndex)), Long.valueOf(decoded.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((createdAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public <T> Specification<T> toSpecification() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                criteriaBuilder.or(
+                        criteriaBuilder.lessThan(root.get("createdAt"), createdAt),
+                        criteriaBuilder.lessThan(root.get("id"), id)));
+    }
+}
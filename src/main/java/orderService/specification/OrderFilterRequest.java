@@ -15,6 +15,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder(toBuilder = true)
+@EqualsAndHashCode
 public class OrderFilterRequest {
 
 
@@ -25,6 +26,10 @@ public class OrderFilterRequest {
 
     private OrderStatus orderStatus;
 
+    public boolean isEmpty() {
+        return createdBefore == null && createdAfter == null && orderStatus == null;
+    }
+
     public Specification<Order> toSpecification() {
         List<Specification<Order>> specifications = new ArrayList<>();
 
@@ -1,9 +1,6 @@
 package orderService.specification;
 
-import jakarta.persistence.criteria.Fetch;
-import jakarta.persistence.criteria.JoinType;
 import orderService.entity.Order;
-import orderService.entity.OrderItem;
 import orderService.entity.enums.OrderStatus;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -27,15 +24,4 @@ public class OrderSpecification {
             return status == null ? criteriaBuilder.conjunction() : criteriaBuilder.equal(root.get("orderStatus"), status);
         });
     }
-
-    public static Specification<Order> withAllData() {
-        return (root, query, criteriaBuilder) -> {
-            if (query.getResultType() == Long.class || query.getResultType() == long.class) {
-                return null;
-            }
-            Fetch<Order, OrderItem> ordersJoin = root.fetch("orderItemList", JoinType.LEFT);
-            ordersJoin.fetch("item", JoinType.LEFT);
-            return null;
-        };
-    }
 }
@@ -0,0 +1,7 @@
+--liquibase formatted sql
+
+--changeset vhmnts:001-add-orders-keyset-index
+CREATE INDEX idx_orders_created_at_id ON orders(created_at DESC, id DESC);
+
+--changeset vhmnts:002-add-items-keyset-index
+CREATE INDEX idx_items_created_at_id ON items(created_at DESC, id DESC);
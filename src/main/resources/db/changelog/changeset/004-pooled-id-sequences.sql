@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset vhmnts:001-increment-items-id-sequence-by-allocation-size
+ALTER SEQUENCE items_id_seq INCREMENT BY 50;
+
+--changeset vhmnts:002-increment-orders-id-sequence-by-allocation-size
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+
+--changeset vhmnts:003-increment-order-items-id-sequence-by-allocation-size
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
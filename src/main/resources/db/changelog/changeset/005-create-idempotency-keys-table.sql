@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset vhmnts:001-create-idempotency-keys-table
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+--changeset vhmnts:002-add-idempotency-keys-expires-at-index
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
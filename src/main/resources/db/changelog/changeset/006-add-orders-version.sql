@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset vhmnts:001-add-orders-version-column
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
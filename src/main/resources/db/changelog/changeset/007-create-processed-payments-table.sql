@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset vhmnts:001-create-processed-payments-table
+CREATE TABLE processed_payments (
+    payment_id VARCHAR(255) PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+--changeset vhmnts:002-add-processed-payments-processed-at-index
+CREATE INDEX idx_processed_payments_processed_at ON processed_payments(processed_at);
@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset vhmnts:001-scope-idempotency-keys-to-user
+ALTER TABLE idempotency_keys DROP CONSTRAINT idempotency_keys_pkey;
+ALTER TABLE idempotency_keys ADD CONSTRAINT idempotency_keys_pkey PRIMARY KEY (user_id, idempotency_key);
@@ -0,0 +1,92 @@
+package orderService.integrational;
+
+import jakarta.persistence.EntityManagerFactory;
+import orderService.TestcontainersConfig;
+import orderService.entity.Item;
+import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
+import orderService.repository.ItemRepository;
+import orderService.repository.OrderItemRepository;
+import orderService.repository.OrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true"
+)
+@Import(TestcontainersConfig.class)
+@DisplayName("[integration] ItemRepository")
+class ItemRepositoryTest {
+
+    @Autowired
+    protected PostgreSQLContainer<?> postgreSQLContainer;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void softDeleteShouldStayFlatAsOrderHistoryOfItemGrows() {
+        // Arrange
+        Long itemWithoutHistoryId = createItemWithOrderHistory(0);
+        Long itemWithHistoryId = createItemWithOrderHistory(500);
+        long orderLinesBefore = orderItemRepository.count();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Act
+        DeletionMeasurement withoutHistory = measureSoftDelete(statistics, itemWithoutHistoryId);
+        DeletionMeasurement withHistory = measureSoftDelete(statistics, itemWithHistoryId);
+
+        // Assert
+        assertThat(withHistory.statements()).isEqualTo(withoutHistory.statements()).isEqualTo(1);
+        assertThat(withHistory.loadedEntities()).isZero();
+        assertThat(itemRepository.findById(itemWithHistoryId)).isEmpty();
+        assertThat(orderItemRepository.count()).isEqualTo(orderLinesBefore);
+    }
+
+    private Long createItemWithOrderHistory(int orders) {
+        Item item = new Item();
+        item.setName("Item");
+        item.setPrice(new BigDecimal(10));
+        Item savedItem = itemRepository.save(item);
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setOrderStatus(OrderStatus.DELIVERED);
+            order.addItem(savedItem, 1);
+            order.updateTotalPrice();
+            orderRepository.save(order);
+        }
+        return savedItem.getId();
+    }
+
+    private DeletionMeasurement measureSoftDelete(Statistics statistics, Long itemId) {
+        return transactionTemplate.execute(status -> {
+            statistics.clear();
+            itemRepository.softDeleteById(itemId);
+            return new DeletionMeasurement(statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+        });
+    }
+
+    private record DeletionMeasurement(long statements, long loadedEntities) {
+    }
+
+}
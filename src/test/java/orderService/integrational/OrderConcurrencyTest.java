@@ -0,0 +1,114 @@
+package orderService.integrational;
+
+import common.PaymentEvent;
+import common.PaymentStatus;
+import orderService.TestcontainersConfig;
+import orderService.dto.OrderItemCreateRequestDto;
+import orderService.dto.OrderUpdateRequestDto;
+import orderService.entity.Item;
+import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
+import orderService.repository.ItemRepository;
+import orderService.repository.OrderRepository;
+import orderService.service.OrderService;
+import orderService.service.PaymentEventConsumerService;
+import orderService.service.UserServiceClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static orderService.util.TestJwtAuthenticationTokenSupplier.getJwtAuthenticationTokenWithAdminRole;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@Import(TestcontainersConfig.class)
+@DisplayName("[integration] Order concurrency")
+class OrderConcurrencyTest {
+
+    private static final int ORDERS = 50;
+    private static final int THREADS = 8;
+
+    @Autowired
+    protected PostgreSQLContainer<?> postgreSQLContainer;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private PaymentEventConsumerService paymentEventConsumerService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @Test
+    void concurrentPaymentsAndAdminUpdatesShouldNotLoseWrites() throws Exception {
+        // Arrange
+        Item item = new Item();
+        item.setName("Contended");
+        item.setPrice(new BigDecimal(10));
+        Item savedItem = itemRepository.save(item);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.addItem(savedItem, 1);
+            order.updateTotalPrice();
+            orderIds.add(orderRepository.save(order).getId());
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            tasks.add(() -> {
+                paymentEventConsumerService.handlePaymentEvent(
+                        new PaymentEvent("payment-" + orderId, orderId, new BigDecimal(10), Instant.now(), PaymentStatus.SUCCESS), () -> {
+                        });
+                return null;
+            });
+            tasks.add(() -> {
+                SecurityContextHolder.getContext().setAuthentication(getJwtAuthenticationTokenWithAdminRole());
+                try {
+                    orderService.patchOrderById(orderId, new OrderUpdateRequestDto(null, List.of(new OrderItemCreateRequestDto(savedItem.getId(), 2)), null));
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            });
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        List<Future<Void>> futures = executorService.invokeAll(tasks);
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        // Assert
+        transactionTemplate.executeWithoutResult(status -> orderRepository.findAllById(orderIds).forEach(order -> {
+            assertThat(order.getOrderItemList().getFirst().getQuantity()).isEqualTo(2);
+            assertThat(order.getTotalPrice()).isEqualByComparingTo("20");
+            assertThat(order.getVersion()).isEqualTo(order.getOrderStatus() == OrderStatus.PAYED ? 2 : 1);
+        }));
+    }
+
+}
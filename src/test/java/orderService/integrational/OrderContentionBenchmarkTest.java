@@ -0,0 +1,140 @@
+package orderService.integrational;
+
+import common.PaymentEvent;
+import common.PaymentStatus;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import orderService.TestcontainersConfig;
+import orderService.dto.OrderItemCreateRequestDto;
+import orderService.dto.OrderUpdateRequestDto;
+import orderService.entity.Item;
+import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
+import orderService.repository.ItemRepository;
+import orderService.repository.OrderRepository;
+import orderService.service.OrderService;
+import orderService.service.PaymentEventConsumerService;
+import orderService.service.UserServiceClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static orderService.util.TestJwtAuthenticationTokenSupplier.getJwtAuthenticationTokenWithAdminRole;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+@Tag("benchmark")
+@DisplayName("[benchmark] Order contention")
+class OrderContentionBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderContentionBenchmarkTest.class);
+    private static final String ORDER_UPDATE_RETRY = "order-update";
+    private static final int ORDERS = 500;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private PaymentEventConsumerService paymentEventConsumerService;
+    @Autowired
+    private RetryRegistry retryRegistry;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @Test
+    void concurrentPaymentsAndAdminUpdatesThroughput() throws Exception {
+        // Arrange
+        Item item = new Item();
+        item.setName("Benchmarked");
+        item.setPrice(new BigDecimal(10));
+        Item savedItem = itemRepository.save(item);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.addItem(savedItem, 1);
+            order.updateTotalPrice();
+            orderIds.add(orderRepository.save(order).getId());
+        }
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Timer payments = meterRegistry.timer("orders.contention.operation", "operation", "payment");
+        Timer adminUpdates = meterRegistry.timer("orders.contention.operation", "operation", "admin-update");
+        Timer run = meterRegistry.timer("orders.contention.run");
+        AtomicLong conflicts = new AtomicLong();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            tasks.add(() -> {
+                payments.record(() -> paymentEventConsumerService.handlePaymentEvent(
+                        new PaymentEvent("payment-" + orderId, orderId, new BigDecimal(10), Instant.now(), PaymentStatus.SUCCESS), () -> {
+                        }));
+                return null;
+            });
+            tasks.add(() -> {
+                SecurityContextHolder.getContext().setAuthentication(getJwtAuthenticationTokenWithAdminRole());
+                try {
+                    adminUpdates.record(() -> orderService.patchOrderById(orderId,
+                            new OrderUpdateRequestDto(null, List.of(new OrderItemCreateRequestDto(savedItem.getId(), 2)), null)));
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            });
+        }
+        Retry.Metrics retryMetrics = retryRegistry.retry(ORDER_UPDATE_RETRY).getMetrics();
+        long retriedCallsBefore = retryMetrics.getNumberOfSuccessfulCallsWithRetryAttempt() + retryMetrics.getNumberOfFailedCallsWithRetryAttempt();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        run.recordCallable(() -> {
+            for (Future<Void> future : executorService.invokeAll(tasks)) {
+                future.get();
+            }
+            return null;
+        });
+        executorService.shutdown();
+
+        // Assert
+        long retriedCalls = retryMetrics.getNumberOfSuccessfulCallsWithRetryAttempt() + retryMetrics.getNumberOfFailedCallsWithRetryAttempt() - retriedCallsBefore;
+        double seconds = run.totalTime(TimeUnit.NANOSECONDS) / 1e9;
+        double operationsPerSecond = tasks.size() / seconds;
+        logger.info("{} contended operations on {} orders with {} threads: {} ops/s, payment mean {} ms, admin update mean {} ms, "
+                        + "{} admin updates retried, {} answered with 409",
+                tasks.size(), ORDERS, THREADS, String.format("%.1f", operationsPerSecond),
+                String.format("%.2f", payments.mean(TimeUnit.MILLISECONDS)), String.format("%.2f", adminUpdates.mean(TimeUnit.MILLISECONDS)),
+                retriedCalls, conflicts.get());
+        assertThat(payments.count()).isEqualTo(ORDERS);
+        assertThat(adminUpdates.count()).isEqualTo(ORDERS);
+        assertThat(conflicts.get()).isLessThanOrEqualTo(retriedCalls);
+        assertThat(operationsPerSecond).isPositive();
+    }
+
+}
@@ -0,0 +1,141 @@
+package orderService.integrational;
+
+import orderService.TestcontainersConfig;
+import orderService.dto.OrderCreateRequestDto;
+import orderService.dto.OrderDto;
+import orderService.dto.OrderItemCreateRequestDto;
+import orderService.dto.UserDto;
+import orderService.entity.Item;
+import orderService.repository.ItemRepository;
+import orderService.repository.OrderRepository;
+import orderService.service.OrderService;
+import orderService.service.UserServiceClient;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static orderService.util.TestJwtAuthenticationTokenSupplier.getJwtAuthenticationTokenWithAdminRole;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+@DisplayName("[integration] Order idempotency")
+class OrderIdempotencyTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @Test
+    void concurrentRequestWithSameKeyShouldWaitForFirstAndReplayItsOrder() throws Exception {
+        // Arrange
+        when(userServiceClient.findUserById(anyLong()))
+                .thenReturn(new UserDto(1L, "User", "Surname", Date.valueOf("1990-07-08"), "user@example.com", false));
+        Item item = new Item();
+        item.setName("Idempotent");
+        item.setPrice(new BigDecimal("10.00"));
+        Long itemId = itemRepository.save(item).getId();
+        String idempotencyKey = UUID.randomUUID().toString();
+        OrderCreateRequestDto request = new OrderCreateRequestDto(1L, List.of(new OrderItemCreateRequestDto(itemId, 2)));
+        OrderCreateRequestDto retriedRequest = new OrderCreateRequestDto(1L, List.of(new OrderItemCreateRequestDto(itemId, 2)));
+        long ordersBefore = orderRepository.count();
+        CountDownLatch firstCreated = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<OrderDto> first = executorService.submit(asAdmin(() -> transactionTemplate.execute(status -> {
+            OrderDto created = orderService.createOrder(request, idempotencyKey);
+            firstCreated.countDown();
+            await(releaseFirst);
+            return created;
+        })));
+        assertThat(firstCreated.await(10, TimeUnit.SECONDS)).isTrue();
+        Future<OrderDto> retried = executorService.submit(asAdmin(() -> orderService.createOrder(retriedRequest, idempotencyKey)));
+        Awaitility.await().atMost(Duration.ofSeconds(10)).until(this::countAdvisoryLockWaiters, waiters -> waiters > 0);
+        boolean retriedFinishedWhileFirstWasOpen = retried.isDone();
+        releaseFirst.countDown();
+
+        // Assert
+        assertThat(retriedFinishedWhileFirstWasOpen).isFalse();
+        assertThat(retried.get(10, TimeUnit.SECONDS).getId()).isEqualTo(first.get(10, TimeUnit.SECONDS).getId());
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+        executorService.shutdown();
+    }
+
+    @Test
+    void sameKeyFromDifferentUsersShouldCreateSeparateOrders() throws Exception {
+        // Arrange
+        when(userServiceClient.findUserById(anyLong()))
+                .thenReturn(new UserDto(1L, "User", "Surname", Date.valueOf("1990-07-08"), "user@example.com", false));
+        Item item = new Item();
+        item.setName("Shared key");
+        item.setPrice(new BigDecimal("10.00"));
+        Long itemId = itemRepository.save(item).getId();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        // Act
+        OrderDto firstUserOrder = asAdmin(() -> orderService.createOrder(
+                new OrderCreateRequestDto(1L, List.of(new OrderItemCreateRequestDto(itemId, 1))), idempotencyKey)).call();
+        OrderDto secondUserOrder = asAdmin(() -> orderService.createOrder(
+                new OrderCreateRequestDto(2L, List.of(new OrderItemCreateRequestDto(itemId, 3))), idempotencyKey)).call();
+
+        // Assert
+        assertThat(secondUserOrder.getId()).isNotEqualTo(firstUserOrder.getId());
+        assertThat(secondUserOrder.getTotalPrice()).isEqualByComparingTo("30.00");
+    }
+
+    private long countAdvisoryLockWaiters() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted", Long.class);
+    }
+
+    private <T> Callable<T> asAdmin(Callable<T> callable) {
+        return () -> {
+            SecurityContextHolder.getContext().setAuthentication(getJwtAuthenticationTokenWithAdminRole());
+            try {
+                return callable.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package orderService.integrational;
+
+import jakarta.persistence.EntityManagerFactory;
+import orderService.TestcontainersConfig;
+import orderService.dto.OrderDto;
+import orderService.dto.OrderUpdateRequestDto;
+import orderService.dto.UserDto;
+import orderService.entity.Item;
+import orderService.entity.Order;
+import orderService.entity.OrderItem;
+import orderService.entity.enums.OrderStatus;
+import orderService.repository.ItemRepository;
+import orderService.repository.OrderRepository;
+import orderService.service.OrderService;
+import orderService.service.UserServiceClient;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+import static orderService.util.TestJwtAuthenticationTokenSupplier.getJwtAuthenticationTokenWithAdminRole;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true"
+)
+@Import(TestcontainersConfig.class)
+@DisplayName("[integration] Order patch")
+class OrderPatchTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void patchOrderByIdWithStatusOnlyShouldReturnFullOrderWithoutWritingOrderLines() {
+        // Arrange
+        when(userServiceClient.findUserById(anyLong()))
+                .thenReturn(new UserDto(1L, "User", "Surname", Date.valueOf("1990-07-08"), "user@example.com", false));
+        Item item = new Item();
+        item.setName("Patched");
+        item.setPrice(new BigDecimal("10.00"));
+        Item savedItem = itemRepository.save(item);
+        Order order = new Order();
+        order.setUserId(1L);
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.addItem(savedItem, 3);
+        order.updateTotalPrice();
+        Long orderId = orderRepository.save(order).getId();
+        SecurityContextHolder.getContext().setAuthentication(getJwtAuthenticationTokenWithAdminRole());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        OrderDto result = orderService.patchOrderById(orderId, new OrderUpdateRequestDto("CONFIRMED", null, null));
+
+        // Assert
+        assertThat(result.getOrderStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(result.getTotalPrice()).isEqualByComparingTo("30");
+        assertThat(result.getOrderItemList()).singleElement().satisfies(orderItem -> assertThat(orderItem.quantity()).isEqualTo(3));
+        EntityStatistics orderItemStatistics = statistics.getEntityStatistics(OrderItem.class.getName());
+        assertThat(orderItemStatistics.getInsertCount()).isZero();
+        assertThat(orderItemStatistics.getUpdateCount()).isZero();
+        assertThat(orderItemStatistics.getDeleteCount()).isZero();
+        assertThat(orderRepository.findById(orderId).orElseThrow().getOrderStatus()).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+}
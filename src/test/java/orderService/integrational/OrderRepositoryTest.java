@@ -1,6 +1,7 @@
 package orderService.integrational;
 
 
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 import orderService.TestcontainersConfig;
 import orderService.entity.Item;
@@ -11,6 +12,9 @@ import orderService.repository.ItemRepository;
 import orderService.repository.OrderItemRepository;
 import orderService.repository.OrderRepository;
 import orderService.specification.OrderSpecification;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,18 +23,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.within;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 @SpringBootTest(
-        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true"
 )
 @Import(TestcontainersConfig.class)
 @DisplayName("[integration] OrderRepository")
@@ -44,6 +53,12 @@ class OrderRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private OrderItemRepository orderItemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @AfterEach
     void afterEach(){
@@ -272,4 +287,99 @@ class OrderRepositoryTest {
 
     }
 
+    @Test
+    void addingPopularItemToOrderShouldExecuteSameNumberOfStatementsAsAddingUnorderedItem() {
+        // Arrange
+        Item popularItem = new Item();
+        popularItem.setName("Popular");
+        popularItem.setPrice(new BigDecimal(10));
+        Long popularItemId = itemRepository.save(popularItem).getId();
+        Item unorderedItem = new Item();
+        unorderedItem.setName("Unordered");
+        unorderedItem.setPrice(new BigDecimal(10));
+        Long unorderedItemId = itemRepository.save(unorderedItem).getId();
+        for (int i = 0; i < 50; i++) {
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.addItem(itemRepository.findById(popularItemId).orElseThrow(), 1);
+            order.updateTotalPrice();
+            orderRepository.save(order);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Act
+        long unorderedItemStatements = countStatementsOfAddingItemToNewOrder(statistics, unorderedItemId);
+        long popularItemStatements = countStatementsOfAddingItemToNewOrder(statistics, popularItemId);
+
+        // Assert
+        assertThat(popularItemStatements).isEqualTo(unorderedItemStatements);
+    }
+
+    @Test
+    void savingOrderWithManyLinesShouldUseConstantNumberOfStatements() {
+        // Arrange
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Item item = new Item();
+            item.setName("Item" + i);
+            item.setPrice(new BigDecimal(10));
+            itemIds.add(itemRepository.save(item).getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Act
+        long statements = transactionTemplate.execute(status -> {
+            List<Item> items = itemRepository.findAllById(itemIds);
+            statistics.clear();
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setOrderStatus(OrderStatus.PENDING);
+            items.forEach(item -> order.addItem(item, 1));
+            order.updateTotalPrice();
+            orderRepository.saveAndFlush(order);
+            return statistics.getPrepareStatementCount();
+        });
+
+        // Assert
+        assertThat(statements).isLessThanOrEqualTo(4);
+    }
+
+    private long countStatementsOfAddingItemToNewOrder(Statistics statistics, Long itemId) {
+        return transactionTemplate.execute(status -> {
+            statistics.clear();
+            Item item = itemRepository.findById(itemId).orElseThrow();
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.addItem(item, 1);
+            order.updateTotalPrice();
+            orderRepository.saveAndFlush(order);
+            assertThat(Hibernate.isInitialized(item.getOrderItemList())).isFalse();
+            return statistics.getPrepareStatementCount();
+        });
+    }
+
+    @Test
+    void estimateCountShouldExcludeSoftDeletedOrders() {
+        // Arrange
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setTotalPrice(BigDecimal.TEN);
+            orders.add(order);
+        }
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        orderRepository.deleteAll(savedOrders.subList(0, 10));
+        jdbcTemplate.execute("ANALYZE orders");
+
+        // Act
+        Long estimate = orderRepository.estimateCount();
+
+        // Assert
+        assertThat(estimate).isCloseTo(orderRepository.count(), within(1L));
+    }
+
 }
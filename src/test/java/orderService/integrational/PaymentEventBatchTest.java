@@ -0,0 +1,73 @@
+package orderService.integrational;
+
+import common.PaymentEvent;
+import common.PaymentStatus;
+import orderService.TestcontainersConfig;
+import orderService.entity.Item;
+import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
+import orderService.repository.ItemRepository;
+import orderService.repository.OrderRepository;
+import orderService.service.PaymentEventConsumerService;
+import orderService.service.UserServiceClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+@DisplayName("[integration] Payment event batch")
+class PaymentEventBatchTest {
+
+    @Autowired
+    private PaymentEventConsumerService paymentEventConsumerService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @Test
+    void batchWithMissingOrderShouldCommitPaymentsBeforeIt() {
+        // Arrange
+        Item item = new Item();
+        item.setName("Batched");
+        item.setPrice(new BigDecimal("10.00"));
+        Item savedItem = itemRepository.save(item);
+        Order order = new Order();
+        order.setUserId(1L);
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.addItem(savedItem, 1);
+        order.updateTotalPrice();
+        Long orderId = orderRepository.save(order).getId();
+        Long missingOrderId = orderId + 1_000_000;
+        List<PaymentEvent> paymentEvents = List.of(
+                new PaymentEvent(UUID.randomUUID().toString(), orderId, new BigDecimal("10.00"), Instant.now(), PaymentStatus.SUCCESS),
+                new PaymentEvent(UUID.randomUUID().toString(), missingOrderId, new BigDecimal("10.00"), Instant.now(), PaymentStatus.SUCCESS));
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // Act & Assert
+        assertThatThrownBy(() -> paymentEventConsumerService.handlePaymentEvents(paymentEvents, acknowledgment))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> assertThat(e.getIndex()).isEqualTo(1));
+        assertThat(orderRepository.findById(orderId).orElseThrow().getOrderStatus()).isEqualTo(OrderStatus.PAYED);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+}
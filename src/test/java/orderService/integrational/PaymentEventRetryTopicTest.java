@@ -0,0 +1,108 @@
+package orderService.integrational;
+
+import common.PaymentEvent;
+import common.PaymentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import orderService.TestcontainersConfig;
+import orderService.entity.Item;
+import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
+import orderService.repository.ItemRepository;
+import orderService.repository.OrderRepository;
+import orderService.service.UserServiceClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+import static orderService.service.PaymentEventRetryMetrics.DEAD_LETTERED_METRIC;
+import static orderService.service.PaymentEventRetryMetrics.FAILED_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "payment-events.retry.attempts=3",
+        "payment-events.retry.initial-delay-ms=100",
+        "payment-events.retry.multiplier=2",
+        "payment-events.retry.topic-partitions=1"
+})
+@Import(TestcontainersConfig.class)
+@EmbeddedKafka(partitions = 1, topics = PaymentEventRetryTopicTest.TOPIC)
+@DisplayName("[integration] Payment event retry topics")
+class PaymentEventRetryTopicTest {
+
+    static final String TOPIC = "CREATE_PAYMENT_EVENT";
+    private static final Long MISSING_ORDER_ID = 999_999L;
+
+    @Autowired
+    private KafkaTemplate<String, PaymentEvent> kafkaTemplate;
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @Test
+    void failingEventShouldMoveThroughRetryStagesToDltWithoutBlockingLaterEvents() {
+        // Arrange
+        Item item = new Item();
+        item.setName("Retried");
+        item.setPrice(new BigDecimal(10));
+        Order order = new Order();
+        order.setUserId(1L);
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.addItem(itemRepository.save(item), 1);
+        order.updateTotalPrice();
+        Long orderId = orderRepository.save(order).getId();
+        for (MessageListenerContainer container : kafkaListenerEndpointRegistry.getListenerContainers()) {
+            if (container.isRunning()) {
+                ContainerTestUtils.waitForAssignment(container, embeddedKafkaBroker.getPartitionsPerTopic());
+            }
+        }
+
+        // Act
+        kafkaTemplate.send(TOPIC, String.valueOf(MISSING_ORDER_ID),
+                new PaymentEvent("payment-missing", MISSING_ORDER_ID, new BigDecimal(10), Instant.now(), PaymentStatus.SUCCESS));
+        kafkaTemplate.send(TOPIC, String.valueOf(orderId),
+                new PaymentEvent("payment-" + orderId, orderId, new BigDecimal(10), Instant.now(), PaymentStatus.SUCCESS));
+
+        // Assert
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertThat(meterRegistry.find(DEAD_LETTERED_METRIC).tag("exception", "OrderNotFoundException").counter())
+                        .isNotNull()
+                        .extracting(Counter::count)
+                        .isEqualTo(1.0));
+        for (String stage : new String[]{TOPIC, TOPIC + "-retry-0", TOPIC + "-retry-1"}) {
+            assertThat(meterRegistry.find(FAILED_METRIC).tag("stage", stage).counters())
+                    .singleElement()
+                    .satisfies(counter -> {
+                        assertThat(counter.getId().getTag("exception")).isEqualTo("OrderNotFoundException");
+                        assertThat(counter.count()).isEqualTo(1.0);
+                    });
+        }
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertThat(orderRepository.findById(orderId)).get().extracting(Order::getOrderStatus).isEqualTo(OrderStatus.PAYED));
+    }
+
+}
@@ -0,0 +1,116 @@
+package orderService.integrational;
+
+import common.PaymentEvent;
+import common.PaymentStatus;
+import orderService.TestcontainersConfig;
+import orderService.entity.ProcessedPayment;
+import orderService.repository.ProcessedPaymentRepository;
+import orderService.service.ProcessedPaymentStore;
+import orderService.service.UserServiceClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfig.class)
+@DisplayName("[integration] ProcessedPaymentStore")
+class ProcessedPaymentStoreTest {
+
+    @Autowired
+    private ProcessedPaymentStore processedPaymentStore;
+    @Autowired
+    private ProcessedPaymentRepository processedPaymentRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    @Test
+    void claimUnprocessedShouldClaimOnlyPaymentsWithoutRows() {
+        // Arrange
+        String processedPaymentId = UUID.randomUUID().toString();
+        String newPaymentId = UUID.randomUUID().toString();
+        processedPaymentRepository.save(new ProcessedPayment(processedPaymentId, 1L, Instant.now()));
+        List<PaymentEvent> paymentEvents = List.of(
+                createPaymentEvent(processedPaymentId, 1L),
+                createPaymentEvent(newPaymentId, 2L),
+                createPaymentEvent(newPaymentId, 2L));
+
+        // Act
+        Set<String> claimedPaymentIds = transactionTemplate.execute(status -> processedPaymentStore.claimUnprocessed(paymentEvents));
+
+        // Assert
+        assertThat(claimedPaymentIds).containsExactly(newPaymentId);
+        assertThat(processedPaymentRepository.findById(newPaymentId)).hasValueSatisfying(processedPayment ->
+                assertThat(processedPayment.getOrderId()).isEqualTo(2L));
+        assertThat(processedPaymentStore.isRecentlyProcessed(processedPaymentId)).isTrue();
+    }
+
+    @Test
+    void claimedPaymentShouldBeRememberedOnlyAfterCommit() {
+        // Arrange
+        String paymentId = UUID.randomUUID().toString();
+
+        // Act
+        Boolean rememberedBeforeCommit = transactionTemplate.execute(status -> {
+            processedPaymentStore.claimUnprocessed(List.of(createPaymentEvent(paymentId, 1L)));
+            return processedPaymentStore.isRecentlyProcessed(paymentId);
+        });
+
+        // Assert
+        assertThat(rememberedBeforeCommit).isFalse();
+        assertThat(processedPaymentStore.isRecentlyProcessed(paymentId)).isTrue();
+    }
+
+    @Test
+    void rolledBackClaimShouldLeaveNoRowAndAllowClaimingAgain() {
+        // Arrange
+        String paymentId = UUID.randomUUID().toString();
+        List<PaymentEvent> paymentEvents = List.of(createPaymentEvent(paymentId, 1L));
+        transactionTemplate.executeWithoutResult(status -> {
+            processedPaymentStore.claimUnprocessed(paymentEvents);
+            status.setRollbackOnly();
+        });
+
+        // Act
+        Set<String> claimedPaymentIds = transactionTemplate.execute(status -> processedPaymentStore.claimUnprocessed(paymentEvents));
+
+        // Assert
+        assertThat(claimedPaymentIds).containsExactly(paymentId);
+        assertThat(processedPaymentRepository.existsById(paymentId)).isTrue();
+    }
+
+    @Test
+    void purgeExpiredShouldDeleteOnlyPaymentsOlderThanRetention() {
+        // Arrange
+        String expiredPaymentId = UUID.randomUUID().toString();
+        String recentPaymentId = UUID.randomUUID().toString();
+        processedPaymentRepository.save(new ProcessedPayment(expiredPaymentId, 1L, Instant.now().minus(Duration.ofDays(31))));
+        processedPaymentRepository.save(new ProcessedPayment(recentPaymentId, 2L, Instant.now()));
+
+        // Act
+        processedPaymentStore.purgeExpired();
+
+        // Assert
+        assertThat(processedPaymentRepository.existsById(expiredPaymentId)).isFalse();
+        assertThat(processedPaymentRepository.existsById(recentPaymentId)).isTrue();
+    }
+
+    private PaymentEvent createPaymentEvent(String paymentId, Long orderId) {
+        return new PaymentEvent(paymentId, orderId, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS);
+    }
+
+}
@@ -0,0 +1,136 @@
+package orderService.integrational;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import orderService.TestcontainersConfig;
+import orderService.dto.UserDto;
+import orderService.service.UserServiceClient;
+import orderService.service.impl.LastKnownGoodUserStore;
+import orderService.service.impl.UserServiceRestClientImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.wiremock.spring.ConfigureWireMock;
+import org.wiremock.spring.EnableWireMock;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static orderService.util.TestJwtAuthenticationTokenSupplier.getJwtAuthenticationTokenWithAdminRole;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "user-service.stale-refresh.token=serviceToken")
+@Import(TestcontainersConfig.class)
+@EnableWireMock({
+        @ConfigureWireMock(
+                name = "localhost",
+                port = 8080)
+})
+@ActiveProfiles("test")
+@DisplayName("[integration] User service fallback")
+class UserServiceClientFallbackTest {
+
+    private static final String USER_SERVICE_CIRCUIT_BREAKER = "user-service";
+    @Autowired
+    private UserServiceRestClientImpl userServiceRestClient;
+    @Autowired
+    private UserServiceClient userServiceClient;
+    @Autowired
+    private LastKnownGoodUserStore lastKnownGoodUserStore;
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        SecurityContextHolder.getContext().setAuthentication(getJwtAuthenticationTokenWithAdminRole());
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker(USER_SERVICE_CIRCUIT_BREAKER);
+        circuitBreaker.transitionToClosedState();
+    }
+
+    @AfterEach
+    void tearDown() {
+        circuitBreaker.transitionToClosedState();
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void findUserByIdShouldServeLastKnownUserWhileCircuitIsOpen() throws Exception {
+        // Arrange
+        UserDto user = createUser(101L, "first@example.com");
+        stubFor(get(urlEqualTo("/api/v1/users/101")).willReturn(okJson(objectMapper.writeValueAsString(user))));
+        userServiceRestClient.findUserById(101L);
+        circuitBreaker.transitionToForcedOpenState();
+
+        // Act
+        UserDto result = userServiceRestClient.findUserById(101L);
+
+        // Assert
+        assertThat(result).isEqualTo(user);
+        assertThat(lastKnownGoodUserStore.isStale(101L)).isTrue();
+        assertThatThrownBy(() -> userServiceRestClient.findUserById(102L)).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void findUsersByIdsShouldServeKnownUsersWhileCircuitIsOpen() {
+        // Arrange
+        UserDto first = createUser(201L, "first@example.com");
+        UserDto second = createUser(202L, "second@example.com");
+        lastKnownGoodUserStore.rememberAll(Set.of(first, second));
+        circuitBreaker.transitionToForcedOpenState();
+
+        // Act
+        Map<Long, UserDto> result = userServiceRestClient.findUsersByIds(Set.of(201L, 202L, 203L));
+
+        // Assert
+        assertThat(result).containsOnly(Map.entry(201L, first), Map.entry(202L, second));
+        assertThatThrownBy(() -> userServiceRestClient.findUsersByIds(Set.of(203L))).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void staleUserShouldBeRefreshedInBackgroundWhenCircuitGoesHalfOpen() throws Exception {
+        // Arrange
+        UserDto stale = createUser(301L, "old@example.com");
+        UserDto fresh = createUser(301L, "new@example.com");
+        lastKnownGoodUserStore.remember(stale);
+        circuitBreaker.transitionToOpenState();
+        assertThat(userServiceClient.findUserById(301L)).isEqualTo(stale);
+        stubFor(get(urlEqualTo("/api/v1/users/301")).willReturn(okJson(objectMapper.writeValueAsString(fresh))));
+
+        // Act
+        circuitBreaker.transitionToHalfOpenState();
+        await().atMost(Duration.ofSeconds(5)).until(() -> !lastKnownGoodUserStore.isStale(301L));
+        UserDto result = userServiceClient.findUserById(301L);
+
+        // Assert
+        assertThat(result).isEqualTo(fresh);
+        verify(1, getRequestedFor(urlEqualTo("/api/v1/users/301")).withHeader("Authorization", equalTo("Bearer serviceToken")));
+        verify(0, getRequestedFor(urlEqualTo("/api/v1/users/301")).withHeader("Authorization", equalTo("Bearer adminToken")));
+    }
+
+    private UserDto createUser(Long id, String email) {
+        return new UserDto(id, "User", "Surname", Date.valueOf("1990-07-08"), email, false);
+    }
+
+}
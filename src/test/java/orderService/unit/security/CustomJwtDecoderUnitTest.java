@@ -0,0 +1,107 @@
+package orderService.unit.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import orderService.exception.TokenValidationException;
+import orderService.security.CustomJwtDecoder;
+import orderService.security.CustomJwtValidator;
+import orderService.security.RemoteTokenIntrospector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("[unit] CustomJwtDecoder")
+class CustomJwtDecoderUnitTest {
+
+    @Mock
+    private CustomJwtValidator jwtValidator;
+
+    @Mock
+    private RemoteTokenIntrospector remoteTokenIntrospector;
+
+    private CustomJwtDecoder customJwtDecoder;
+    private KeyPair keyPair;
+    private JwtParser jwtParser;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        keyPair = keyPairGenerator.generateKeyPair();
+        jwtParser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+        customJwtDecoder = new CustomJwtDecoder(jwtValidator, remoteTokenIntrospector, 100);
+        when(jwtValidator.parseSignedClaims(anyString())).thenAnswer(invocation -> jwtParser.parseSignedClaims(invocation.getArgument(0)));
+    }
+
+    @Test
+    void decodeShouldVerifySignatureOnlyOnceForRepeatedToken() {
+        // Arrange
+        String token = signedToken("1", Instant.now().plus(5, ChronoUnit.MINUTES));
+
+        // Act
+        Jwt first = customJwtDecoder.decode(token);
+        Jwt second = customJwtDecoder.decode(token);
+
+        // Assert
+        assertThat(first.getClaimAsString("userId")).isEqualTo("1");
+        assertThat(first.getHeaders()).containsEntry("alg", "RS256");
+        assertThat(second).isSameAs(first);
+        verify(jwtValidator, times(1)).parseSignedClaims(token);
+    }
+
+    @Test
+    void decodeShouldVerifyEveryDistinctToken() {
+        // Arrange
+        String firstToken = signedToken("1", Instant.now().plus(5, ChronoUnit.MINUTES));
+        String secondToken = signedToken("2", Instant.now().plus(5, ChronoUnit.MINUTES));
+
+        // Act
+        customJwtDecoder.decode(firstToken);
+        Jwt result = customJwtDecoder.decode(secondToken);
+
+        // Assert
+        assertThat(result.getClaimAsString("userId")).isEqualTo("2");
+        verify(jwtValidator).parseSignedClaims(firstToken);
+        verify(jwtValidator).parseSignedClaims(secondToken);
+    }
+
+    @Test
+    void decodeShouldRejectTokenRevokedRemotelyEvenWhenCachedLocally() {
+        // Arrange
+        String token = signedToken("1", Instant.now().plus(5, ChronoUnit.MINUTES));
+        customJwtDecoder.decode(token);
+        when(remoteTokenIntrospector.isEnabled()).thenReturn(true);
+        when(remoteTokenIntrospector.isActive(eq(token), any())).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> customJwtDecoder.decode(token)).isInstanceOf(TokenValidationException.class);
+        verify(jwtValidator, times(1)).parseSignedClaims(token);
+    }
+
+    private String signedToken(String userId, Instant expiresAt) {
+        return Jwts.builder()
+                .claim("userId", userId)
+                .issuedAt(new Date())
+                .expiration(Date.from(expiresAt))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+}
@@ -0,0 +1,115 @@
+package orderService.unit.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import orderService.security.CustomKeyProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("[unit] CustomKeyProvider")
+class CustomKeyProviderUnitTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path keySetFile;
+    private RSAPublicKey firstKey;
+    private RSAPublicKey secondKey;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        firstKey = (RSAPublicKey) keyPairGenerator.generateKeyPair().getPublic();
+        secondKey = (RSAPublicKey) keyPairGenerator.generateKeyPair().getPublic();
+        keySetFile = tempDir.resolve("jwks.json");
+    }
+
+    @Test
+    void getPublicKeyShouldResolveKeysByKeyId() throws IOException {
+        // Arrange
+        writeKeySet(Map.of("first", firstKey, "second", secondKey));
+
+        // Act
+        CustomKeyProvider customKeyProvider = newKeyProvider();
+
+        // Assert
+        assertThat(customKeyProvider.getPublicKey("first")).isEqualTo(firstKey);
+        assertThat(customKeyProvider.getPublicKey("second")).isEqualTo(secondKey);
+    }
+
+    @Test
+    void reloadShouldSwapKeySetWithoutRestart() throws IOException {
+        // Arrange
+        writeKeySet(Map.of("first", firstKey));
+        CustomKeyProvider customKeyProvider = newKeyProvider();
+        writeKeySet(Map.of("second", secondKey));
+
+        // Act
+        customKeyProvider.reload();
+
+        // Assert
+        assertThat(customKeyProvider.getPublicKey("second")).isEqualTo(secondKey);
+        assertThat(customKeyProvider.getPublicKey("first")).isNull();
+    }
+
+    @Test
+    void getPublicKeyShouldFallBackOnlyForTokensWithoutKeyId() throws IOException {
+        // Arrange
+        writeKeySet(Map.of("first", firstKey));
+
+        // Act
+        CustomKeyProvider customKeyProvider = newKeyProvider();
+
+        // Assert
+        assertThat(customKeyProvider.getPublicKey(null)).isEqualTo(firstKey);
+        assertThat(customKeyProvider.getPublicKey("retired")).isNull();
+    }
+
+    @Test
+    void reloadShouldKeepPreviousKeysWhenKeySetIsBroken() throws IOException {
+        // Arrange
+        writeKeySet(Map.of("first", firstKey));
+        CustomKeyProvider customKeyProvider = newKeyProvider();
+        Files.writeString(keySetFile, "{ not json");
+
+        // Act
+        customKeyProvider.reload();
+
+        // Assert
+        assertThat(customKeyProvider.getPublicKey("first")).isEqualTo(firstKey);
+    }
+
+    private CustomKeyProvider newKeyProvider() {
+        return new CustomKeyProvider("", keySetFile.toUri().toString(), new DefaultResourceLoader(), new ObjectMapper());
+    }
+
+    private void writeKeySet(Map<String, RSAPublicKey> keys) throws IOException {
+        List<Map<String, String>> jwks = keys.entrySet().stream()
+                .map(key -> Map.of(
+                        "kty", "RSA",
+                        "kid", key.getKey(),
+                        "n", base64Url(key.getValue().getModulus().toByteArray()),
+                        "e", base64Url(key.getValue().getPublicExponent().toByteArray())))
+                .toList();
+        Files.writeString(keySetFile, new ObjectMapper().writeValueAsString(Map.of("keys", jwks)));
+    }
+
+    private static String base64Url(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+}
@@ -0,0 +1,159 @@
+package orderService.unit.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import orderService.exception.ServiceUnavailableException;
+import orderService.security.RemoteTokenIntrospector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@DisplayName("[unit] RemoteTokenIntrospector")
+class RemoteTokenIntrospectorUnitTest {
+
+    private static final String VALIDATION_URL = "http://auth-service/validate";
+    private static final String ACTIVE_RESPONSE = "{\"valid\":true}";
+    private MockRestServiceServer server;
+    private RestClient restClient;
+    private RemoteTokenIntrospector remoteTokenIntrospector;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(VALIDATION_URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        restClient = builder.build();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (remoteTokenIntrospector != null) {
+            remoteTokenIntrospector.shutdown();
+        }
+    }
+
+    @Test
+    void isActiveShouldCacheResultUntilTokenExpires() {
+        // Arrange
+        remoteTokenIntrospector = newIntrospector(false, Duration.ofMillis(5));
+        server.expect(once(), requestTo(VALIDATION_URL)).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(ACTIVE_RESPONSE, MediaType.APPLICATION_JSON));
+        server.expect(times(2), requestTo(VALIDATION_URL)).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(ACTIVE_RESPONSE, MediaType.APPLICATION_JSON));
+
+        // Act
+        boolean first = remoteTokenIntrospector.isActive("token", Instant.now().plusSeconds(60));
+        boolean second = remoteTokenIntrospector.isActive("token", Instant.now().plusSeconds(60));
+        remoteTokenIntrospector.isActive("expired", Instant.now().minusSeconds(1));
+        remoteTokenIntrospector.isActive("expired", Instant.now().minusSeconds(1));
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        server.verify();
+    }
+
+    @Test
+    void concurrentLookupsOfSameTokenShouldShareSingleRequest() throws Exception {
+        // Arrange
+        remoteTokenIntrospector = newIntrospector(false, Duration.ofMillis(5));
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(once(), requestTo(VALIDATION_URL)).andRespond(request -> {
+            requestStarted.countDown();
+            await(release);
+            return withSuccess(ACTIVE_RESPONSE, MediaType.APPLICATION_JSON).createResponse(request);
+        });
+
+        // Act
+        List<Future<Boolean>> results = new ArrayList<>();
+        results.add(executor.submit(() -> remoteTokenIntrospector.isActive("token", Instant.now().plusSeconds(60))));
+        await(requestStarted);
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> remoteTokenIntrospector.isActive("token", Instant.now().plusSeconds(60))));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        server.verify();
+    }
+
+    @Test
+    void batchModeShouldIntrospectConcurrentTokensInSingleRequest() throws Exception {
+        // Arrange
+        remoteTokenIntrospector = newIntrospector(true, Duration.ofMillis(500));
+        server.expect(once(), requestTo(VALIDATION_URL + "/batch")).andExpect(method(HttpMethod.POST)).andRespond(request -> {
+            JsonNode tokens = new ObjectMapper().readTree(((MockClientHttpRequest) request).getBodyAsString()).path("tokens");
+            List<String> results = new ArrayList<>();
+            tokens.forEach(token -> results.add("{\"valid\":" + !token.asText().equals("revoked") + "}"));
+            return withSuccess("[" + String.join(",", results) + "]", MediaType.APPLICATION_JSON).createResponse(request);
+        });
+
+        // Act
+        Future<Boolean> first = executor.submit(() -> remoteTokenIntrospector.isActive("first", Instant.now().plusSeconds(60)));
+        Future<Boolean> second = executor.submit(() -> remoteTokenIntrospector.isActive("second", Instant.now().plusSeconds(60)));
+        Future<Boolean> revoked = executor.submit(() -> remoteTokenIntrospector.isActive("revoked", Instant.now().plusSeconds(60)));
+
+        // Assert
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(revoked.get(5, TimeUnit.SECONDS)).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void failedBatchShouldFailEveryPendingLookupAndNotCacheResult() {
+        // Arrange
+        remoteTokenIntrospector = newIntrospector(true, Duration.ofMillis(5));
+        server.expect(once(), requestTo(VALIDATION_URL + "/batch")).andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(VALIDATION_URL + "/batch")).andRespond(withSuccess("[" + ACTIVE_RESPONSE + "]", MediaType.APPLICATION_JSON));
+
+        // Act & Assert
+        assertThatThrownBy(() -> remoteTokenIntrospector.isActive("token", Instant.now().plusSeconds(60)))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(remoteTokenIntrospector.isActive("token", Instant.now().plusSeconds(60))).isTrue();
+        server.verify();
+    }
+
+    private RemoteTokenIntrospector newIntrospector(boolean batchEnabled, Duration batchMaxWait) {
+        return new RemoteTokenIntrospector(restClient, true, 100, Duration.ofSeconds(30), batchEnabled, "/batch", 10, batchMaxWait);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
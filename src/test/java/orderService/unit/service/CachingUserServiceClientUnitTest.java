@@ -0,0 +1,103 @@
+package orderService.unit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import orderService.dto.UserDto;
+import orderService.service.UserServiceClient;
+import orderService.service.impl.CachingUserServiceClient;
+import orderService.service.impl.LastKnownGoodUserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("[unit] CachingUserServiceClient")
+class CachingUserServiceClientUnitTest {
+
+    @Mock
+    private UserServiceClient delegate;
+
+    private LastKnownGoodUserStore lastKnownGoodUserStore;
+    private CachingUserServiceClient cachingUserServiceClient;
+    private UserDto firstUser;
+    private UserDto secondUser;
+
+    @BeforeEach
+    void setUp() {
+        lastKnownGoodUserStore = new LastKnownGoodUserStore(100, Duration.ofMinutes(1));
+        cachingUserServiceClient = new CachingUserServiceClient(delegate, lastKnownGoodUserStore, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        firstUser = new UserDto(1L, "User", "Surname", Date.valueOf("1990-07-08"), "first@example.com", true);
+        secondUser = new UserDto(2L, "User", "Surname", Date.valueOf("1990-07-08"), "second@example.com", true);
+    }
+
+    @Test
+    void findUserByIdShouldCallUserServiceOnlyOnceForRepeatedLookups() {
+        // Arrange
+        when(delegate.findUserById(1L)).thenReturn(firstUser);
+
+        // Act
+        cachingUserServiceClient.findUserById(1L);
+        UserDto result = cachingUserServiceClient.findUserById(1L);
+
+        // Assert
+        assertThat(result).isEqualTo(firstUser);
+        verify(delegate, times(1)).findUserById(1L);
+    }
+
+    @Test
+    void findUsersByIdsShouldRequestOnlyUsersMissingFromCache() {
+        // Arrange
+        when(delegate.findUserById(1L)).thenReturn(firstUser);
+        when(delegate.findUsersByIds(Set.of(2L))).thenReturn(Map.of(2L, secondUser));
+        cachingUserServiceClient.findUserById(1L);
+
+        // Act
+        Map<Long, UserDto> result = cachingUserServiceClient.findUsersByIds(Set.of(1L, 2L));
+
+        // Assert
+        assertThat(result).containsEntry(1L, firstUser).containsEntry(2L, secondUser);
+        verify(delegate).findUsersByIds(Set.of(2L));
+    }
+
+    @Test
+    void findUserByIdShouldNotCacheStaleUserServedWhileCircuitIsOpen() {
+        // Arrange
+        lastKnownGoodUserStore.remember(firstUser);
+        when(delegate.findUserById(1L)).thenAnswer(invocation -> lastKnownGoodUserStore.findStale(1L).orElseThrow());
+
+        // Act
+        cachingUserServiceClient.findUserById(1L);
+        cachingUserServiceClient.findUserById(1L);
+
+        // Assert
+        assertThat(lastKnownGoodUserStore.isStale(1L)).isTrue();
+        verify(delegate, times(2)).findUserById(1L);
+    }
+
+    @Test
+    void findUserByIdShouldServeUserRefreshedInBackgroundWithoutCallingUserService() {
+        // Arrange
+        lastKnownGoodUserStore.remember(firstUser);
+        lastKnownGoodUserStore.findStale(1L);
+
+        // Act
+        lastKnownGoodUserStore.refreshed(Set.of(firstUser));
+        UserDto result = cachingUserServiceClient.findUserById(1L);
+
+        // Assert
+        assertThat(result).isEqualTo(firstUser);
+        assertThat(lastKnownGoodUserStore.isStale(1L)).isFalse();
+        verifyNoInteractions(delegate);
+    }
+
+}
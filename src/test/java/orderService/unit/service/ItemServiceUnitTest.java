@@ -1,14 +1,17 @@
 package orderService.unit.service;
 
+import orderService.dto.CursorPageDto;
 import orderService.dto.ItemCreateRequestDto;
 import orderService.dto.ItemDto;
 import orderService.dto.ItemUpdateDto;
 import orderService.dto.PageDto;
 import orderService.entity.Item;
+import orderService.exception.InvalidCursorException;
 import orderService.exception.ItemNotFoundException;
 import orderService.mapper.ItemMapper;
 import orderService.repository.ItemRepository;
 import orderService.service.impl.ItemServiceImpl;
+import orderService.specification.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,8 +23,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -255,26 +261,28 @@ class ItemServiceUnitTest {
         @DisplayName("Should delete item successfully")
         void shouldDeleteItemSuccessfully() {
             // Arrange
-            doNothing().when(itemRepository).deleteById(ITEM_ID);
+            given(itemRepository.softDeleteById(ITEM_ID)).willReturn(1);
 
             // Act
             itemService.deleteItemById(ITEM_ID);
 
             // Assert
-            verify(itemRepository, times(1)).deleteById(ITEM_ID);
+            verify(itemRepository, times(1)).softDeleteById(ITEM_ID);
+            verify(itemRepository, never()).deleteById(any());
         }
 
         @Test
         @DisplayName("Should call repository delete method once")
         void shouldCallRepositoryDeleteMethodOnce() {
             // Arrange
-            doNothing().when(itemRepository).deleteById(ITEM_ID);
+            given(itemRepository.softDeleteById(ITEM_ID)).willReturn(1);
 
             // Act
             itemService.deleteItemById(ITEM_ID);
 
             // Assert
-            verify(itemRepository, times(1)).deleteById(ITEM_ID);
+            verify(itemRepository, times(1)).softDeleteById(ITEM_ID);
+            verify(itemRepository, never()).deleteById(any());
         }
     }
 
@@ -383,4 +391,39 @@ class ItemServiceUnitTest {
         }
     }
 
-}
\ No newline at end of file
+    @Nested
+    @DisplayName("Find All Items By Cursor Tests")
+    class FindAllItemsByCursor {
+
+        @Test
+        @DisplayName("Should return next cursor pointing at last item when more items exist")
+        void findAllByCursorShouldReturnNextCursorOfLastItem() {
+            // Arrange
+            Instant createdAt = Instant.parse("2025-01-01T10:00:00Z");
+            Item newer = new Item(2L, ITEM_NAME, ITEM_PRICE, null, DELETED_FLAG);
+            ReflectionTestUtils.setField(newer, "createdAt", createdAt.plusSeconds(60));
+            ReflectionTestUtils.setField(item, "createdAt", createdAt);
+            Item older = new Item(3L, ITEM_NAME, ITEM_PRICE, null, DELETED_FLAG);
+            given(itemRepository.findBy(any(Specification.class), any())).willReturn(List.of(newer, item, older));
+            given(itemMapper.toDto(any(Item.class))).willReturn(itemDto);
+
+            // Act
+            CursorPageDto<ItemDto> result = itemService.findAllByCursor(null, 2);
+
+            // Assert
+            assertThat(result.getContent()).hasSize(2);
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(KeysetCursor.decode(result.getNextCursor())).isEqualTo(new KeysetCursor(createdAt, ITEM_ID));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void findAllByCursorShouldRejectMalformedCursor() {
+            // Act & Assert
+            assertThatThrownBy(() -> itemService.findAllByCursor("not-a-cursor", 2))
+                    .isInstanceOf(InvalidCursorException.class);
+            verify(itemRepository, never()).findBy(any(Specification.class), any());
+        }
+    }
+
+}
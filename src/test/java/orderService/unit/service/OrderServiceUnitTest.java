@@ -5,31 +5,51 @@ import orderService.entity.Item;
 import orderService.entity.Order;
 import orderService.entity.OrderItem;
 import orderService.entity.enums.OrderStatus;
+import orderService.exception.InvalidCursorException;
 import orderService.exception.ItemNotFoundException;
 import orderService.exception.OrderNotFoundException;
 import orderService.mapper.OrderMapper;
 import orderService.repository.ItemRepository;
 import orderService.repository.OrderRepository;
+import orderService.service.OrderCountEstimator;
+import orderService.service.OrderIdempotencyStore;
+import orderService.service.OrderOwnershipCache;
 import orderService.service.UserServiceClient;
 import orderService.service.impl.OrderServiceImpl;
+import orderService.specification.KeysetCursor;
+import orderService.specification.OrderFilterRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +68,13 @@ class OrderServiceUnitTest {
     @Mock
     private UserServiceClient userServiceClient;
 
+    @Mock
+    private OrderOwnershipCache orderOwnershipCache;
+    @Mock
+    private OrderCountEstimator orderCountEstimator;
+    @Mock
+    private OrderIdempotencyStore orderIdempotencyStore;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -129,7 +156,7 @@ class OrderServiceUnitTest {
                 .orderItemList(List.of(itemRequest))
                 .build();
 
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(item));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
         when(orderMapper.toDto(order)).thenReturn(orderDto);
         when(userServiceClient.findUserById(1L)).thenReturn(userDto);
@@ -141,7 +168,7 @@ class OrderServiceUnitTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getUser()).isEqualTo(userDto);
-        verify(itemRepository).findById(1L);
+        verify(itemRepository).findAllById(List.of(1L));
         verify(orderRepository).save(any(Order.class));
         verify(orderMapper).toDto(order);
         verify(userServiceClient).findUserById(1L);
@@ -156,18 +183,131 @@ class OrderServiceUnitTest {
                 .orderItemList(List.of(itemRequest))
                 .build();
 
-        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+        when(itemRepository.findAllById(List.of(999L))).thenReturn(List.of());
 
         // Act & Assert
         assertThatThrownBy(() -> orderService.createOrder(requestDto))
                 .isInstanceOf(ItemNotFoundException.class)
                 .hasMessageContaining("999");
 
-        verify(itemRepository).findById(999L);
+        verify(itemRepository).findAllById(List.of(999L));
         verify(orderRepository, never()).save(any());
         verify(orderMapper, never()).toDto(any());
     }
 
+    @Test
+    void createOrderShouldLoadItemsOnceAndMergeDuplicateLines() {
+        // Arrange
+        OrderCreateRequestDto requestDto = OrderCreateRequestDto.builder()
+                .userId(1L)
+                .orderItemList(List.of(new OrderItemCreateRequestDto(1L, 2), new OrderItemCreateRequestDto(1L, 3)))
+                .build();
+
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(item));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.toDto(any(Order.class))).thenReturn(orderDto);
+        when(userServiceClient.findUserById(1L)).thenReturn(userDto);
+
+        // Act
+        orderService.createOrder(requestDto);
+
+        // Assert
+        ArgumentCaptor<Order> savedOrder = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(savedOrder.capture());
+        assertThat(savedOrder.getValue().getOrderItemList()).singleElement()
+                .extracting(OrderItem::getQuantity).isEqualTo(5);
+        verify(itemRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void createOrderShouldReportAllMissingItemsInOneException() {
+        // Arrange
+        OrderCreateRequestDto requestDto = OrderCreateRequestDto.builder()
+                .userId(1L)
+                .orderItemList(List.of(new OrderItemCreateRequestDto(998L, 1), new OrderItemCreateRequestDto(1L, 1), new OrderItemCreateRequestDto(999L, 1)))
+                .build();
+
+        when(itemRepository.findAllById(List.of(998L, 1L, 999L))).thenReturn(List.of(item));
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.createOrder(requestDto))
+                .isInstanceOf(ItemNotFoundException.class)
+                .hasMessageContaining("998")
+                .hasMessageContaining("999");
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrderWithReplayedIdempotencyKeyShouldReturnOriginalOrderWithoutCreatingNewOne() {
+        // Arrange
+        OrderCreateRequestDto requestDto = OrderCreateRequestDto.builder()
+                .userId(1L)
+                .orderItemList(List.of(new OrderItemCreateRequestDto(1L, 2)))
+                .build();
+
+        when(orderIdempotencyStore.findCompletedOrderId("key-1", requestDto)).thenReturn(Optional.of(1L));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(userServiceClient.findUserById(1L)).thenReturn(userDto);
+
+        // Act
+        OrderDto result = orderService.createOrder(requestDto, "key-1");
+
+        // Assert
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(orderRepository, never()).save(any());
+        verify(itemRepository, never()).findAllById(any());
+        verify(orderIdempotencyStore, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    void createOrderWithNewIdempotencyKeyShouldCreateOrderAndCompleteKey() {
+        // Arrange
+        OrderCreateRequestDto requestDto = OrderCreateRequestDto.builder()
+                .userId(1L)
+                .orderItemList(List.of(new OrderItemCreateRequestDto(1L, 2)))
+                .build();
+
+        when(orderIdempotencyStore.findCompletedOrderId("key-1", requestDto)).thenReturn(Optional.empty());
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(item));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(userServiceClient.findUserById(1L)).thenReturn(userDto);
+
+        // Act
+        orderService.createOrder(requestDto, "key-1");
+
+        // Assert
+        verify(orderRepository).save(any(Order.class));
+        verify(orderIdempotencyStore).complete("key-1", requestDto, 1L);
+    }
+
+    @Test
+    void createOrdersShouldLoadItemsAndUsersOnceAndReportFailedEntries() {
+        // Arrange
+        List<OrderCreateRequestDto> requestDtos = List.of(
+                OrderCreateRequestDto.builder().userId(1L).orderItemList(List.of(new OrderItemCreateRequestDto(1L, 1))).build(),
+                OrderCreateRequestDto.builder().userId(1L).orderItemList(List.of(new OrderItemCreateRequestDto(999L, 1))).build(),
+                OrderCreateRequestDto.builder().userId(1L).orderItemList(List.of(new OrderItemCreateRequestDto(1L, 2))).build());
+
+        when(itemRepository.findAllById(List.of(1L, 999L))).thenReturn(List.of(item));
+        when(orderMapper.toDto(any(Order.class))).thenReturn(orderDto);
+        when(userServiceClient.findUsersByIds(Set.of(1L))).thenReturn(Map.of(1L, userDto));
+
+        // Act
+        List<OrderBulkCreateResultDto> results = orderService.createOrders(requestDtos);
+
+        // Assert
+        assertThat(results).extracting(OrderBulkCreateResultDto::index).containsExactly(0, 1, 2);
+        assertThat(results.get(0).order()).isNotNull();
+        assertThat(results.get(1).order()).isNull();
+        assertThat(results.get(1).error()).contains("999");
+        assertThat(results.get(2).error()).isNull();
+        verify(itemRepository, times(1)).findAllById(any());
+        verify(orderRepository).saveAll(argThat(orders -> ((Collection<Order>) orders).size() == 2));
+        verify(userServiceClient, times(1)).findUsersByIds(any());
+        verify(userServiceClient, never()).findUserById(any());
+    }
 
     @Test
     void findAllByUserIdWhenUserHasOrdersShouldReturnOrderDtos() {
@@ -207,6 +347,121 @@ class OrderServiceUnitTest {
         verify(userServiceClient).findUserById(1L);
     }
 
+    @Test
+    void findAllShouldResolveUsersOfPageWithSingleBatchLookup() {
+        // Arrange
+        Order secondOrder = new Order();
+        secondOrder.setId(2L);
+        secondOrder.setUserId(1L);
+        OrderDto secondOrderDto = OrderDto.builder().id(2L).build();
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<Order> orderPage = new PageImpl<>(List.of(order, secondOrder), pageable, 2);
+
+        when(orderRepository.findAll(ArgumentMatchers.<Specification<Order>>any(), eq(pageable))).thenReturn(orderPage);
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(orderMapper.toDto(secondOrder)).thenReturn(secondOrderDto);
+        when(userServiceClient.findUsersByIds(Set.of(1L))).thenReturn(Map.of(1L, userDto));
+        when(orderMapper.toPageDto(any())).thenAnswer(invocation -> {
+            Page<OrderDto> page = invocation.getArgument(0);
+            return new PageDto<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+        });
+
+        // Act
+        PageDto<OrderDto> result = orderService.findAll(new OrderFilterRequest(), pageable);
+
+        // Assert
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getContent()).allMatch(dto -> userDto.equals(dto.getUser()));
+        verify(userServiceClient).findUsersByIds(Set.of(1L));
+        verify(userServiceClient, never()).findUserById(anyLong());
+    }
+
+    @Test
+    void findAllWithAllDataShouldFetchPageOfIdsThenOrdersWithItemsInPageOrder() {
+        // Arrange
+        Order secondOrder = new Order();
+        secondOrder.setId(2L);
+        secondOrder.setUserId(1L);
+        OrderDto secondOrderDto = OrderDto.builder().id(2L).build();
+        Pageable pageable = PageRequest.of(0, 20);
+
+        when(orderRepository.findIds(ArgumentMatchers.<Specification<Order>>any(), eq(pageable))).thenReturn(List.of(2L, 1L));
+        when(orderRepository.findAllByIdIn(List.of(2L, 1L))).thenReturn(List.of(order, secondOrder));
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(orderMapper.toDto(secondOrder)).thenReturn(secondOrderDto);
+        when(userServiceClient.findUsersByIds(Set.of(1L))).thenReturn(Map.of(1L, userDto));
+        when(orderMapper.toPageDto(any())).thenAnswer(invocation -> {
+            Page<OrderDto> page = invocation.getArgument(0);
+            return new PageDto<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+        });
+
+        // Act
+        PageDto<OrderDto> result = orderService.findAllWithAllData(new OrderFilterRequest(), pageable);
+
+        // Assert
+        assertThat(result.getContent()).extracting(OrderDto::getId).containsExactly(2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(orderRepository, never()).findAll(ArgumentMatchers.<Specification<Order>>any(), any(Pageable.class));
+        verify(orderRepository, never()).count(ArgumentMatchers.<Specification<Order>>any());
+    }
+
+    @Test
+    void findAllWithAllDataWithoutCountShouldFetchOneExtraIdInsteadOfCounting() {
+        // Arrange
+        Pageable pageable = PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        when(orderRepository.findIds(ArgumentMatchers.<Specification<Order>>any(), eq(pageable.getSort()), eq(1L), eq(2))).thenReturn(List.of(1L, 2L));
+        when(orderRepository.findAllByIdIn(List.of(1L))).thenReturn(List.of(order));
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(userServiceClient.findUsersByIds(Set.of(1L))).thenReturn(Map.of(1L, userDto));
+
+        // Act
+        PageDto<OrderDto> result = orderService.findAllWithAllData(new OrderFilterRequest(), pageable, CountMode.NONE);
+
+        // Assert
+        assertThat(result.getContent()).extracting(OrderDto::getId).containsExactly(1L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotalElements()).isNull();
+        verify(orderRepository, never()).count(ArgumentMatchers.<Specification<Order>>any());
+        verifyNoInteractions(orderCountEstimator);
+    }
+
+    @Test
+    void findAllWithAllDataByCursorShouldFetchOneExtraIdAndReturnCursorOfLastOrder() {
+        // Arrange
+        Instant createdAt = Instant.parse("2025-01-01T10:00:00Z");
+        Order olderOrder = new Order();
+        olderOrder.setId(2L);
+        olderOrder.setUserId(1L);
+        ReflectionTestUtils.setField(order, "createdAt", createdAt.plusSeconds(60));
+        ReflectionTestUtils.setField(olderOrder, "createdAt", createdAt);
+        OrderDto olderOrderDto = OrderDto.builder().id(2L).build();
+        String cursor = new KeysetCursor(createdAt.plusSeconds(120), 9L).encode();
+
+        when(orderRepository.findIds(ArgumentMatchers.<Specification<Order>>any(), eq(PageRequest.of(0, 3, KeysetCursor.SORT)))).thenReturn(List.of(1L, 2L, 3L));
+        when(orderRepository.findAllByIdIn(List.of(1L, 2L))).thenReturn(List.of(olderOrder, order));
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(orderMapper.toDto(olderOrder)).thenReturn(olderOrderDto);
+        when(userServiceClient.findUsersByIds(Set.of(1L))).thenReturn(Map.of(1L, userDto));
+
+        // Act
+        CursorPageDto<OrderDto> result = orderService.findAllWithAllDataByCursor(new OrderFilterRequest(), cursor, 2);
+
+        // Assert
+        assertThat(result.getContent()).extracting(OrderDto::getId).containsExactly(1L, 2L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(result.getNextCursor())).isEqualTo(new KeysetCursor(createdAt, 2L));
+        verify(orderRepository, never()).count(ArgumentMatchers.<Specification<Order>>any());
+    }
+
+    @Test
+    void findAllWithAllDataByCursorWithInvalidCursorShouldThrowInvalidCursorException() {
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.findAllWithAllDataByCursor(new OrderFilterRequest(), "not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
     @Test
     void deleteByIdShouldCallRepositoryDelete() {
         // Act
@@ -214,6 +469,7 @@ class OrderServiceUnitTest {
 
         // Assert
         verify(orderRepository).deleteById(1L);
+        verify(orderOwnershipCache).evict(1L);
     }
 
 
@@ -234,7 +490,7 @@ class OrderServiceUnitTest {
                 .hasMessageContaining("1");
 
         verify(orderRepository).findById(1L);
-        verify(itemRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).findAllById(any());
         verify(orderMapper, never()).toDto(any());
     }
 
@@ -248,7 +504,7 @@ class OrderServiceUnitTest {
         );
 
         when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+        when(itemRepository.findAllById(List.of(999L))).thenReturn(List.of());
 
         // Act & Assert
         assertThatThrownBy(() -> orderService.updateOrderById(1L, updateRequest))
@@ -256,7 +512,7 @@ class OrderServiceUnitTest {
                 .hasMessageContaining("999");
 
         verify(orderRepository).findById(1L);
-        verify(itemRepository).findById(999L);
+        verify(itemRepository).findAllById(List.of(999L));
         verify(orderMapper, never()).toDto(any());
     }
 
@@ -274,10 +530,56 @@ class OrderServiceUnitTest {
         // Assert
         assertThat(result).isNotNull();
         verify(orderRepository).findById(1L);
-        verify(itemRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).findAllById(any());
         verify(orderMapper).toDto(order);
     }
 
+    @Test
+    void updateOrderByIdShouldUpdateQuantityOfExistingLineInPlace() {
+        // Arrange
+        OrderItem existingOrderItem = order.getOrderItemList().getFirst();
+        OrderUpdateRequestDto updateRequest = new OrderUpdateRequestDto(
+                null,
+                List.of(new OrderItemCreateRequestDto(1L, 5)),
+                null
+        );
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
+        when(userServiceClient.findUserById(1L)).thenReturn(userDto);
+        when(orderRepository.save(order)).thenReturn(order);
+
+        // Act
+        orderService.updateOrderById(1L, updateRequest);
+
+        // Assert
+        assertThat(order.getOrderItemList()).containsExactly(existingOrderItem);
+        assertThat(existingOrderItem.getQuantity()).isEqualTo(5);
+        assertThat(order.getTotalPrice()).isEqualTo(new BigDecimal("499.95"));
+        verify(itemRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void patchOrderByIdWithStatusOnlyShouldNotTouchOrderLines() {
+        // Arrange
+        Order spiedOrder = spy(order);
+        OrderUpdateRequestDto patchRequest = new OrderUpdateRequestDto("CONFIRMED", null, null);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(spiedOrder));
+        when(orderMapper.toDto(spiedOrder)).thenReturn(orderDto);
+        when(userServiceClient.findUserById(1L)).thenReturn(userDto);
+        when(orderRepository.save(spiedOrder)).thenReturn(spiedOrder);
+
+        // Act
+        orderService.patchOrderById(1L, patchRequest);
+
+        // Assert
+        assertThat(spiedOrder.getOrderStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        verify(spiedOrder, never()).getOrderItemList();
+        verify(spiedOrder, never()).updateTotalPrice();
+        verify(itemRepository, never()).findAllById(any());
+    }
+
     @Test
     void updateOrderByIdWhenEmptyItemListShouldClearOrderItems() {
         // Arrange
@@ -299,7 +601,7 @@ class OrderServiceUnitTest {
         assertThat(result).isNotNull();
         assertThat(order.getOrderItemList()).isEmpty();
         verify(orderRepository).findById(1L);
-        verify(itemRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).findAllById(any());
         verify(orderMapper).toDto(order);
     }
 
@@ -324,7 +626,7 @@ class OrderServiceUnitTest {
         assertThat(result).isNotNull();
         assertThat(order.getOrderItemList()).isEmpty();
         verify(orderRepository).findById(1L);
-        verify(itemRepository, never()).findById(anyLong());
+        verify(itemRepository, never()).findAllById(any());
         verify(orderMapper).toDto(order);
     }
 
@@ -346,8 +648,7 @@ class OrderServiceUnitTest {
         );
 
         when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(itemRepository.findById(2L)).thenReturn(Optional.of(item2));
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(item2));
         when(orderMapper.toDto(order)).thenReturn(orderDto);
         when(userServiceClient.findUserById(1L)).thenReturn(userDto);
         when(orderRepository.save(order)).thenReturn(order);
@@ -359,8 +660,7 @@ class OrderServiceUnitTest {
         assertThat(result).isNotNull();
         assertThat(order.getTotalPrice()).isEqualTo(new BigDecimal("199.99")); // 99.99 + (50 * 2)
         verify(orderRepository).findById(1L);
-        verify(itemRepository).findById(1L);
-        verify(itemRepository).findById(2L);
+        verify(itemRepository).findAllById(List.of(2L));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package orderService.unit.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import orderService.service.PaymentConsumerBackpressure;
+import orderService.service.PaymentEventConsumerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static orderService.service.PaymentConsumerBackpressure.PAUSED_DURATION_METRIC;
+import static orderService.service.PaymentConsumerBackpressure.PAUSED_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("[unit] PaymentConsumerBackpressure")
+class PaymentConsumerBackpressureUnitTest {
+
+    private static final String POOL_NAME = "HikariPool-1";
+    @Mock
+    private HikariDataSource dataSource;
+    @Mock
+    private HikariPoolMXBean pool;
+    @Mock
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    @Mock
+    private MessageListenerContainer container;
+    @Mock
+    private MessageListenerContainer retryContainer;
+    @Mock
+    private MessageListenerContainer unrelatedContainer;
+    private SimpleMeterRegistry meterRegistry;
+    private Timer acquireTimer;
+    private PaymentConsumerBackpressure backpressure;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        acquireTimer = Timer.builder("hikaricp.connections.acquire").tag("pool", POOL_NAME).register(meterRegistry);
+        backpressure = new PaymentConsumerBackpressure(dataSource, kafkaListenerEndpointRegistry, meterRegistry,
+                true, 0.9, Duration.ofMillis(50), 0.6, Duration.ofMillis(10));
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getPoolName()).thenReturn(POOL_NAME);
+        when(dataSource.getMaximumPoolSize()).thenReturn(10);
+        when(kafkaListenerEndpointRegistry.getAllListenerContainers()).thenReturn(List.of(container, retryContainer, unrelatedContainer));
+        when(container.getListenerId()).thenReturn(PaymentEventConsumerService.LISTENER_ID);
+        when(container.isRunning()).thenReturn(true);
+        when(retryContainer.getListenerId()).thenReturn(PaymentEventConsumerService.LISTENER_ID + "-retry-0");
+        when(retryContainer.isRunning()).thenReturn(true);
+        when(unrelatedContainer.getListenerId()).thenReturn("inventory-events");
+    }
+
+    @Test
+    void saturatedPoolShouldPauseRunningContainers() {
+        // Arrange
+        when(pool.getActiveConnections()).thenReturn(9);
+
+        // Act
+        backpressure.check();
+
+        // Assert
+        verify(container).pause();
+        assertThat(backpressure.isPaused()).isTrue();
+        assertThat(meterRegistry.get(PAUSED_METRIC).gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void saturatedPoolShouldPauseOnlyPaymentListenerContainers() {
+        // Arrange
+        when(pool.getActiveConnections()).thenReturn(9);
+
+        // Act
+        backpressure.check();
+
+        // Assert
+        verify(container).pause();
+        verify(retryContainer).pause();
+        verify(unrelatedContainer, never()).pause();
+    }
+
+    @Test
+    void pausedConsumerShouldResumeOnlyBelowResumeThreshold() {
+        // Arrange
+        when(pool.getActiveConnections()).thenReturn(10, 7, 5);
+
+        // Act
+        backpressure.check();
+        backpressure.check();
+        boolean pausedBetweenThresholds = backpressure.isPaused();
+        backpressure.check();
+
+        // Assert
+        assertThat(pausedBetweenThresholds).isTrue();
+        verify(container, times(1)).pause();
+        verify(container, times(1)).resume();
+        assertThat(backpressure.isPaused()).isFalse();
+        assertThat(meterRegistry.get(PAUSED_METRIC).gauge().value()).isZero();
+        assertThat(meterRegistry.get(PAUSED_DURATION_METRIC).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowConnectionAcquisitionShouldPauseUntilAcquireTimeDropsBelowResumeThreshold() {
+        // Arrange
+        when(pool.getActiveConnections()).thenReturn(1);
+
+        // Act
+        acquireTimer.record(Duration.ofMillis(80));
+        backpressure.check();
+        boolean pausedOnSlowAcquire = backpressure.isPaused();
+        acquireTimer.record(Duration.ofMillis(30));
+        backpressure.check();
+        boolean pausedBetweenThresholds = backpressure.isPaused();
+        acquireTimer.record(Duration.ofMillis(4));
+        acquireTimer.record(Duration.ofMillis(6));
+        backpressure.check();
+
+        // Assert
+        assertThat(pausedOnSlowAcquire).isTrue();
+        assertThat(pausedBetweenThresholds).isTrue();
+        verify(container, times(1)).pause();
+        verify(container, times(1)).resume();
+        assertThat(backpressure.isPaused()).isFalse();
+    }
+
+}
@@ -0,0 +1,269 @@
+package orderService.unit.service;
+
+import common.PaymentEvent;
+import common.PaymentStatus;
+import orderService.entity.Order;
+import orderService.entity.enums.OrderStatus;
+import orderService.exception.OrderNotFoundException;
+import orderService.repository.OrderRepository;
+import orderService.service.PaymentEventConsumerService;
+import orderService.service.PaymentEventRetryMetrics;
+import orderService.service.ProcessedPaymentStore;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("[unit] PaymentEventConsumerService")
+class PaymentEventConsumerServiceUnitTest {
+
+    private static final Set<OrderStatus> PAYABLE_STATUSES = EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private ProcessedPaymentStore processedPaymentStore;
+    @Mock
+    private PaymentEventRetryMetrics paymentEventRetryMetrics;
+    @Mock
+    private Acknowledgment acknowledgment;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private ExecutorService paymentEventWorkerExecutor;
+    private PaymentEventConsumerService paymentEventConsumerService;
+
+    @BeforeEach
+    void setUp() {
+        paymentEventWorkerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        paymentEventConsumerService = new PaymentEventConsumerService(orderRepository, processedPaymentStore, paymentEventRetryMetrics,
+                new TransactionTemplate(transactionManager), paymentEventWorkerExecutor, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentEventWorkerExecutor.shutdownNow();
+    }
+
+    @Test
+    void successfulPaymentShouldPayOrderWithConditionalUpdate() {
+        // Arrange
+        PaymentEvent paymentEvent = new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS);
+        when(processedPaymentStore.claim("payment-1", 1L)).thenReturn(true);
+        when(orderRepository.transitionStatusIfTotalPriceEquals(1L, PAYABLE_STATUSES, new BigDecimal("100"), OrderStatus.PAYED)).thenReturn(1);
+
+        // Act
+        paymentEventConsumerService.handlePaymentEvent(paymentEvent, acknowledgment);
+
+        // Assert
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void failedPaymentForOrderAlreadyPayedShouldLeaveOrderUntouched() {
+        // Arrange
+        Order order = new Order();
+        order.setId(1L);
+        order.setOrderStatus(OrderStatus.PAYED);
+        PaymentEvent paymentEvent = new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.FAILED);
+        when(processedPaymentStore.claim("payment-1", 1L)).thenReturn(true);
+        when(orderRepository.transitionStatus(1L, PAYABLE_STATUSES, OrderStatus.CANCELED)).thenReturn(0);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        // Act
+        paymentEventConsumerService.handlePaymentEvent(paymentEvent, acknowledgment);
+
+        // Assert
+        verify(orderRepository, never()).save(any());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void paymentForMissingOrderShouldThrowOrderNotFoundException() {
+        // Arrange
+        PaymentEvent paymentEvent = new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.FAILED);
+        when(processedPaymentStore.claim("payment-1", 1L)).thenReturn(true);
+        when(orderRepository.transitionStatus(any(), any(), any())).thenReturn(0);
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> paymentEventConsumerService.handlePaymentEvent(paymentEvent, acknowledgment))
+                .isInstanceOf(OrderNotFoundException.class);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void redeliveredPaymentShouldBeAcknowledgedWithoutTouchingOrders() {
+        // Arrange
+        PaymentEvent paymentEvent = new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS);
+        when(processedPaymentStore.isRecentlyProcessed("payment-1")).thenReturn(true);
+
+        // Act
+        paymentEventConsumerService.handlePaymentEvent(paymentEvent, acknowledgment);
+
+        // Assert
+        verifyNoInteractions(orderRepository);
+        verify(processedPaymentStore, never()).claim(any(), any());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void deadLetteredPaymentShouldBeRecordedAndAcknowledged() {
+        // Arrange
+        PaymentEvent paymentEvent = new PaymentEvent("payment-1", 9L, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS);
+
+        // Act
+        paymentEventConsumerService.handleDeadLetterPaymentEvent(paymentEvent, "CREATE_PAYMENT_EVENT",
+                OrderNotFoundException.class.getName(), "Order with id 9 not found", acknowledgment);
+
+        // Assert
+        verify(paymentEventRetryMetrics).recordDeadLetter("CREATE_PAYMENT_EVENT", OrderNotFoundException.class.getName());
+        verifyNoInteractions(orderRepository);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void batchShouldSkipEventsAlreadyProcessed() {
+        // Arrange
+        List<PaymentEvent> paymentEvents = List.of(
+                new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS),
+                new PaymentEvent("payment-2", 2L, new BigDecimal("50"), Instant.now(), PaymentStatus.FAILED));
+        when(processedPaymentStore.claimUnprocessed(paymentEvents)).thenReturn(new HashSet<>(Set.of("payment-2")));
+        when(orderRepository.findAllById(Set.of(2L))).thenReturn(List.of(createOrder(2L, OrderStatus.PENDING, "50")));
+        when(orderRepository.transitionStatusOfAll(Set.of(2L), PAYABLE_STATUSES, OrderStatus.CANCELED)).thenReturn(1);
+
+        // Act
+        paymentEventConsumerService.handlePaymentEvents(paymentEvents, acknowledgment);
+
+        // Assert
+        verify(orderRepository, never()).transitionStatusIfTotalPriceEquals(any(), any(), any(), any());
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void batchShouldLoadOrdersOnceAndApplyTransitionsWithSetBasedUpdates() {
+        // Arrange
+        Order payable = createOrder(1L, OrderStatus.PENDING, "100");
+        Order failed = createOrder(2L, OrderStatus.CONFIRMED, "50");
+        Order underpaid = createOrder(3L, OrderStatus.PENDING, "70");
+        List<PaymentEvent> paymentEvents = List.of(
+                new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS),
+                new PaymentEvent("payment-2", 2L, new BigDecimal("50"), Instant.now(), PaymentStatus.FAILED),
+                new PaymentEvent("payment-3", 2L, new BigDecimal("50"), Instant.now(), PaymentStatus.SUCCESS),
+                new PaymentEvent("payment-4", 3L, new BigDecimal("60"), Instant.now(), PaymentStatus.SUCCESS));
+        when(processedPaymentStore.claimUnprocessed(paymentEvents)).thenReturn(new HashSet<>(Set.of("payment-1", "payment-2", "payment-3", "payment-4")));
+        when(orderRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(payable, failed, underpaid));
+        when(orderRepository.transitionStatusOfAll(Set.of(2L), PAYABLE_STATUSES, OrderStatus.CANCELED)).thenReturn(1);
+        when(orderRepository.transitionStatusIfTotalPricesEqual(Map.of(1L, new BigDecimal("100")), PAYABLE_STATUSES, OrderStatus.PAYED)).thenReturn(1);
+
+        // Act
+        paymentEventConsumerService.handlePaymentEvents(paymentEvents, acknowledgment);
+
+        // Assert
+        verify(orderRepository, times(1)).findAllById(any());
+        verify(orderRepository, never()).save(any());
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void batchWithMissingOrderShouldCommitEarlierEventsAndFailAtIndexOfItsEvent() {
+        // Arrange
+        List<PaymentEvent> paymentEvents = List.of(
+                new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS),
+                new PaymentEvent("payment-2", 9L, new BigDecimal("50"), Instant.now(), PaymentStatus.FAILED));
+        when(processedPaymentStore.claimUnprocessed(paymentEvents)).thenReturn(new HashSet<>(Set.of("payment-1", "payment-2")));
+        when(processedPaymentStore.claimUnprocessed(paymentEvents.subList(0, 1))).thenReturn(new HashSet<>(Set.of("payment-1")));
+        when(orderRepository.findAllById(Set.of(1L, 9L))).thenReturn(List.of(createOrder(1L, OrderStatus.PENDING, "100")));
+        when(orderRepository.findAllById(Set.of(1L))).thenReturn(List.of(createOrder(1L, OrderStatus.PENDING, "100")));
+        when(orderRepository.transitionStatusIfTotalPricesEqual(Map.of(1L, new BigDecimal("100")), PAYABLE_STATUSES, OrderStatus.PAYED)).thenReturn(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> paymentEventConsumerService.handlePaymentEvents(paymentEvents, acknowledgment))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> assertThat(e.getIndex()).isEqualTo(1));
+        InOrder inOrder = inOrder(transactionManager, orderRepository);
+        inOrder.verify(transactionManager).rollback(any());
+        inOrder.verify(orderRepository).transitionStatusIfTotalPricesEqual(Map.of(1L, new BigDecimal("100")), PAYABLE_STATUSES, OrderStatus.PAYED);
+        inOrder.verify(transactionManager).commit(any());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void keyOrderedBatchShouldKeepEventOrderPerOrderAndAcknowledgeOnce() {
+        // Arrange
+        List<ConsumerRecord<String, PaymentEvent>> records = List.of(
+                createRecord(0, new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.FAILED)),
+                createRecord(1, new PaymentEvent("payment-2", 2L, new BigDecimal("50"), Instant.now(), PaymentStatus.SUCCESS)),
+                createRecord(2, new PaymentEvent("payment-3", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS)));
+        when(processedPaymentStore.claim(any(), any())).thenReturn(true);
+        when(orderRepository.transitionStatus(1L, PAYABLE_STATUSES, OrderStatus.CANCELED)).thenReturn(1);
+        when(orderRepository.transitionStatusIfTotalPriceEquals(any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        paymentEventConsumerService.handlePaymentEventsKeyOrdered(records, acknowledgment);
+
+        // Assert
+        InOrder firstOrder = inOrder(orderRepository);
+        firstOrder.verify(orderRepository).transitionStatus(1L, PAYABLE_STATUSES, OrderStatus.CANCELED);
+        firstOrder.verify(orderRepository).transitionStatusIfTotalPriceEquals(1L, PAYABLE_STATUSES, new BigDecimal("100"), OrderStatus.PAYED);
+        verify(orderRepository).transitionStatusIfTotalPriceEquals(2L, PAYABLE_STATUSES, new BigDecimal("50"), OrderStatus.PAYED);
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void keyOrderedBatchShouldFailAtLowestFailedIndexAndStopThatOrder() {
+        // Arrange
+        List<ConsumerRecord<String, PaymentEvent>> records = List.of(
+                createRecord(0, new PaymentEvent("payment-1", 1L, new BigDecimal("100"), Instant.now(), PaymentStatus.SUCCESS)),
+                createRecord(1, new PaymentEvent("payment-2", 9L, new BigDecimal("50"), Instant.now(), PaymentStatus.FAILED)),
+                createRecord(2, new PaymentEvent("payment-3", 9L, new BigDecimal("50"), Instant.now(), PaymentStatus.SUCCESS)));
+        when(processedPaymentStore.claim(any(), any())).thenReturn(true);
+        when(orderRepository.transitionStatusIfTotalPriceEquals(1L, PAYABLE_STATUSES, new BigDecimal("100"), OrderStatus.PAYED)).thenReturn(1);
+        when(orderRepository.transitionStatus(9L, PAYABLE_STATUSES, OrderStatus.CANCELED)).thenReturn(0);
+        when(orderRepository.findById(9L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> paymentEventConsumerService.handlePaymentEventsKeyOrdered(records, acknowledgment))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> assertThat(e.getIndex()).isEqualTo(1));
+        verify(processedPaymentStore, never()).claim("payment-3", 9L);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    private ConsumerRecord<String, PaymentEvent> createRecord(long offset, PaymentEvent paymentEvent) {
+        return new ConsumerRecord<>("CREATE_PAYMENT_EVENT", 0, offset, paymentEvent.getPaymentId(), paymentEvent);
+    }
+
+    private Order createOrder(Long id, OrderStatus orderStatus, String totalPrice) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderStatus(orderStatus);
+        order.setTotalPrice(new BigDecimal(totalPrice));
+        return order;
+    }
+
+}
@@ -0,0 +1,78 @@
+package orderService.unit.util;
+
+import orderService.util.RequestCoalescer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("[unit] RequestCoalescer")
+class RequestCoalescerUnitTest {
+
+    private final RequestCoalescer<Long, String> requestCoalescer = new RequestCoalescer<>();
+
+    @Test
+    void concurrentCallsForSameKeyShouldShareSingleInvocation() throws Exception {
+        // Arrange
+        int callers = 8;
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> requestCoalescer.execute(1L, () -> {
+            invocations.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "user-1";
+        })));
+        await(leaderStarted);
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> requestCoalescer.execute(1L, () -> {
+                invocations.incrementAndGet();
+                return "duplicate";
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+        }
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(requestCoalescer.inFlightCount()).isZero();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void failedCallShouldPropagateExceptionAndAllowNextCall() {
+        // Act & Assert
+        assertThatThrownBy(() -> requestCoalescer.execute(1L, () -> {
+            throw new IllegalStateException("user service is down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(requestCoalescer.execute(1L, () -> "user-1")).isEqualTo("user-1");
+        assertThat(requestCoalescer.inFlightCount()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,19 +1,22 @@
-INSERT INTO items(name,price,deleted) VALUES
-('Item1',100,false),
-('Item2',200,false),
-('Item3',300,false),
-('Item4',400,false);
+INSERT INTO items(id,name,price,deleted) VALUES
+(1,'Item1',100,false),
+(2,'Item2',200,false),
+(3,'Item3',300,false),
+(4,'Item4',400,false);
 
-INSERT INTO orders(user_id,status,total_price,deleted) VALUES
-(1,'CONFIRMED',1400,false),
-(1,'CONFIRMED',400,false),
-(1,'CANCELED',300,false);
+INSERT INTO orders(id,user_id,status,total_price,deleted) VALUES
+(1,1,'CONFIRMED',1400,false),
+(2,1,'CONFIRMED',400,false),
+(3,1,'CANCELED',300,false);
 
-INSERT INTO order_items(order_id,item_id,quantity,deleted) VALUES
-(1,1,4,false),
-(1,2,5,false),
-(2,1,1,false),
-(2,3,1,false),
-(3,3,1,false);
+INSERT INTO order_items(id,order_id,item_id,quantity,deleted) VALUES
+(1,1,1,4,false),
+(2,1,2,5,false),
+(3,2,1,1,false),
+(4,2,3,1,false),
+(5,3,3,1,false);
 
+SELECT setval('items_id_seq', (SELECT MAX(id) FROM items));
+SELECT setval('orders_id_seq', (SELECT MAX(id) FROM orders));
+SELECT setval('order_items_id_seq', (SELECT MAX(id) FROM order_items));
 